@@ -1,22 +1,57 @@
 package net.jastrab.unleashedspringclient;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
 import net.jastrab.unleashed.api.security.ApiCredential;
 import net.jastrab.unleashed.api.security.ApiCredentialImpl;
+import net.jastrab.unleashedspringclient.cache.CacheSnapshot;
+import net.jastrab.unleashedspringclient.cache.EntityCache;
+import net.jastrab.unleashedspringclient.cache.ReferenceDataCache;
+import net.jastrab.unleashedspringclient.cache.ReferenceDataCaches;
+import net.jastrab.unleashedspringclient.client.UnleashedAuthExchangeFilter;
 import net.jastrab.unleashedspringclient.client.UnleashedAuthInterceptor;
 import net.jastrab.unleashedspringclient.client.UnleashedClient;
+import net.jastrab.unleashedspringclient.client.UnleashedReactiveClient;
+import net.jastrab.unleashedspringclient.http.HttpCachingInterceptor;
+import net.jastrab.unleashedspringclient.http.HttpResponseCache;
+import net.jastrab.unleashedspringclient.http.PooledHttpTransport;
+import net.jastrab.unleashedspringclient.metrics.HttpCacheMetrics;
+import net.jastrab.unleashedspringclient.metrics.HttpPoolMetrics;
+import net.jastrab.unleashedspringclient.metrics.UnleashedMetrics;
+import net.jastrab.unleashedspringclient.ratelimit.RateLimitInterceptor;
+import net.jastrab.unleashedspringclient.ratelimit.TokenBucket;
+import net.jastrab.unleashedspringclient.ratelimit.UnleashedRateLimiter;
+import net.jastrab.unleashedspringclient.resilience.CircuitBreakerPolicy;
+import net.jastrab.unleashedspringclient.resilience.EndpointGuards;
+import net.jastrab.unleashedspringclient.resilience.EndpointGuardsInfoContributor;
+import net.jastrab.unleashedspringclient.retry.Retrier;
+import net.jastrab.unleashedspringclient.retry.RetryPolicy;
+import net.jastrab.unleashedspringclient.sync.DeltaSync;
+import net.jastrab.unleashedspringclient.sync.FileSnapshotStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.NoneNestedConditions;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
 import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.List;
 import java.util.Objects;
 
 @Configuration
@@ -37,6 +72,42 @@ public class UnleashedClientConfiguration {
         return new NoOpCacheManager();
     }
 
+    /**
+     * Resolves the reference data caches to no-op caches when caching is disabled
+     */
+    @Bean(UnleashedClient.CACHE_RESOLVER)
+    @ConditionalOnMissingBean(name = UnleashedClient.CACHE_RESOLVER)
+    @ConditionalOnProperty(prefix = "unleashed.client", name = "caching.enabled", havingValue = "false")
+    public SimpleCacheResolver noopCacheResolver() {
+        return new SimpleCacheResolver(new NoOpCacheManager());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "unleashed.client", name = "rate-limit.enabled", havingValue = "true")
+    public UnleashedRateLimiter unleashedRateLimiter(UnleashedClientProperties properties) {
+        final UnleashedClientProperties.RateLimit rateLimit = properties.getRateLimit();
+        final UnleashedRateLimiter rateLimiter = new UnleashedRateLimiter(
+                new TokenBucket(rateLimit.getRequestsPerSecond(), rateLimit.getBurst()),
+                rateLimit.getMode(),
+                rateLimit.getMaxWait());
+        rateLimit.getEndpoints().forEach((resource, limit) -> rateLimiter.addResourceLimit(resource,
+                new TokenBucket(limit.getRequestsPerSecond(), limit.getBurst())));
+        LOGGER.info("Unleashed rate limiting enabled, {} requests/s, burst {}, mode {}",
+                rateLimit.getRequestsPerSecond(), rateLimit.getBurst(), rateLimit.getMode());
+
+        return rateLimiter;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(DeltaSync.class)
+    @ConditionalOnProperty(prefix = "unleashed.client", name = "sync.directory")
+    public DeltaSync unleashedDeltaSync(UnleashedClient client, UnleashedClientProperties properties) {
+        final UnleashedClientProperties.Sync sync = properties.getSync();
+        LOGGER.info("Unleashed delta sync snapshots stored in {}", sync.getDirectory());
+        return new DeltaSync(client, new FileSnapshotStore(sync.getDirectory(), new UnleashedObjectMapper()),
+                sync.getOverlap());
+    }
+
     public MappingJackson2HttpMessageConverter unleashedMessageConverter() {
         return new MappingJackson2HttpMessageConverter(new UnleashedObjectMapper());
     }
@@ -44,16 +115,337 @@ public class UnleashedClientConfiguration {
     @Bean
     @ConditionalOnMissingBean(UnleashedClient.class)
     public UnleashedClient createUnleashedClient(RestTemplateBuilder restTemplateBuilder,
-                                                 UnleashedClientProperties properties) {
+                                                 UnleashedClientProperties properties,
+                                                 ObjectProvider<UnleashedRateLimiter> rateLimiter,
+                                                 ObjectProvider<PooledHttpTransport> httpTransport,
+                                                 ObjectProvider<EntityCache> entityCache,
+                                                 ObjectProvider<HttpResponseCache> httpCache,
+                                                 ObjectProvider<TaskDecorator> taskDecorator) {
+        final ApiCredential credential = apiCredential(properties);
+        RestTemplateBuilder builder = restTemplateBuilder
+                .additionalInterceptors(new UnleashedAuthInterceptor(credential, properties.getSignatureCacheSize()));
+        final PooledHttpTransport transport = httpTransport.getIfAvailable();
+        if (transport != null) {
+            builder = builder.requestFactory(transport::getRequestFactory);
+        } else {
+            builder = builder
+                    .setConnectTimeout(properties.getHttp().getConnectTimeout())
+                    .setReadTimeout(properties.getHttp().getReadTimeout());
+        }
+        final HttpResponseCache responseCache = httpCache.getIfAvailable();
+        if (responseCache != null) {
+            builder = builder.additionalInterceptors(new HttpCachingInterceptor(responseCache));
+        }
+        final UnleashedRateLimiter limiter = rateLimiter.getIfAvailable();
+        if (limiter != null) {
+            builder = builder.additionalInterceptors(new RateLimitInterceptor(limiter));
+        }
+
+        final UnleashedClient client = new UnleashedClient(properties.getBaseUri(), builder,
+                unleashedMessageConverter(), properties.getPagination().getParallelism());
+        client.setPagePrefetch(properties.getPagination().getPrefetch());
+        client.setRetrier(new Retrier(retryPolicy(properties.getRetry())));
+        client.setRequestCoalescing(properties.isRequestCoalescing());
+        client.setThrowClientErrors(properties.isThrowClientErrors());
+        entityCache.ifAvailable(client::setEntityCache);
+        client.setEndpointGuards(endpointGuards(properties));
+        client.setAsyncThreads(properties.getAsync().getMaxThreads(), properties.getAsync().isVirtualThreads());
+        client.setBulkConcurrency(properties.getBulk().getInitialConcurrency(),
+                properties.getBulk().getMaxConcurrency(),
+                properties.getBulk().getLatencyThreshold());
+        taskDecorator.ifUnique(client::setAsyncTaskDecorator);
+
+        return client;
+    }
+
+    private static RetryPolicy retryPolicy(UnleashedClientProperties.Retry retry) {
+        return RetryPolicy.builder()
+                .maxAttempts(retry.getMaxAttempts())
+                .initialBackoff(retry.getInitialBackoff())
+                .multiplier(retry.getMultiplier())
+                .maxBackoff(retry.getMaxBackoff())
+                .jitter(retry.getJitter())
+                .maxElapsed(retry.getMaxElapsed())
+                .methods(retry.getMethods())
+                .statuses(retry.getStatuses())
+                .build();
+    }
+
+    /**
+     * @return the configured circuit breakers and bulkheads, or null if neither is enabled
+     */
+    private static EndpointGuards endpointGuards(UnleashedClientProperties properties) {
+        final UnleashedClientProperties.CircuitBreaker circuitBreaker = properties.getCircuitBreaker();
+        final UnleashedClientProperties.Bulkhead bulkhead = properties.getBulkhead();
+        if (!circuitBreaker.isEnabled() && !bulkhead.isEnabled()) {
+            return null;
+        }
+        final CircuitBreakerPolicy policy = circuitBreaker.isEnabled()
+                ? CircuitBreakerPolicy.builder()
+                .failureRateThreshold(circuitBreaker.getFailureRateThreshold())
+                .slidingWindowSize(circuitBreaker.getSlidingWindowSize())
+                .minimumCalls(circuitBreaker.getMinimumCalls())
+                .openDuration(circuitBreaker.getOpenDuration())
+                .halfOpenCalls(circuitBreaker.getHalfOpenCalls())
+                .build()
+                : null;
+        final int maxConcurrentCalls = bulkhead.isEnabled() ? bulkhead.getMaxConcurrentCalls() : 0;
+        LOGGER.info("Unleashed endpoint guards enabled, circuit breaker: {}, max concurrent calls: {}",
+                circuitBreaker.isEnabled(), bulkhead.isEnabled() ? maxConcurrentCalls : "unlimited");
+        return new EndpointGuards(policy, maxConcurrentCalls, bulkhead.getMaxWait());
+    }
+
+    private static ApiCredential apiCredential(UnleashedClientProperties properties) {
         Objects.requireNonNull(properties.getApiId(),
                 "Unleashed API ID (unleashed.client.api-id) value must not be null");
         Objects.requireNonNull(properties.getApiKey(),
                 "Unleashed API Key (unleashed.client.api-key) value must not be null");
-        final ApiCredential credential = new ApiCredentialImpl(properties.getApiId(), properties.getApiKey());
-        final RestTemplateBuilder builder = restTemplateBuilder
-                .additionalInterceptors(new UnleashedAuthInterceptor(credential));
+        return new ApiCredentialImpl(properties.getApiId(), properties.getApiKey());
+    }
+
+    /**
+     * Configures the Caffeine backed reference data caches. These are exposed through a dedicated cache resolver rather
+     * than a {@link CacheManager} bean so that the application's own cache manager is left untouched.
+     */
+    @Configuration
+    @ConditionalOnClass(name = {
+            "com.github.benmanes.caffeine.cache.Caffeine",
+            "org.springframework.cache.caffeine.CaffeineCache"
+    })
+    @ConditionalOnProperty(prefix = "unleashed.client", name = "caching.enabled", havingValue = "true", matchIfMissing = true)
+    static class CaffeineCacheConfiguration {
+
+        @Bean(UnleashedClient.CACHE_RESOLVER)
+        @ConditionalOnMissingBean(name = UnleashedClient.CACHE_RESOLVER)
+        public SimpleCacheResolver unleashedCacheResolver(UnleashedClientProperties properties,
+                                                          ObjectProvider<UnleashedClient> client) {
+            LOGGER.info("Unleashed reference data caching enabled, default ttl: {}", properties.getCaching().getTtl());
+            return ReferenceDataCaches.cacheResolver(properties.getCaching(), client::getObject);
+        }
+    }
+
+    /**
+     * Resolves the reference data caches through the application's {@link CacheManager} when caching is enabled but
+     * Caffeine is not available, as the reference data getters did before the Caffeine caches were introduced
+     */
+    @Configuration
+    @Conditional(CaffeineUnavailableCondition.class)
+    @ConditionalOnProperty(prefix = "unleashed.client", name = "caching.enabled", havingValue = "true", matchIfMissing = true)
+    static class ApplicationCacheConfiguration {
+
+        @Bean(UnleashedClient.CACHE_RESOLVER)
+        @ConditionalOnMissingBean(name = UnleashedClient.CACHE_RESOLVER)
+        public SimpleCacheResolver applicationCacheResolver(ObjectProvider<CacheManager> cacheManager) {
+            final CacheManager applicationCacheManager = cacheManager.getIfUnique();
+            if (applicationCacheManager == null) {
+                LOGGER.warn("Caffeine is not available and no unique CacheManager found, reference data is not cached");
+                return new SimpleCacheResolver(new NoOpCacheManager());
+            }
+            LOGGER.info("Caffeine is not available, reference data is cached by {}", applicationCacheManager);
+            return new SimpleCacheResolver(applicationCacheManager);
+        }
+    }
+
+    /**
+     * Matches when the classes required by {@link CaffeineCacheConfiguration} are not all available
+     */
+    static class CaffeineUnavailableCondition extends NoneNestedConditions {
+
+        CaffeineUnavailableCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnClass(name = {
+                "com.github.benmanes.caffeine.cache.Caffeine",
+                "org.springframework.cache.caffeine.CaffeineCache"
+        })
+        static class CaffeineAvailable {
+        }
+    }
+
+    /**
+     * Configures the opt-in entity cache for single entity lookups
+     */
+    @Configuration
+    @ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+    @ConditionalOnProperty(prefix = "unleashed.client", name = "entity-cache.enabled", havingValue = "true")
+    static class EntityCacheConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(EntityCache.class)
+        public EntityCache unleashedEntityCache(UnleashedClientProperties properties) {
+            final UnleashedClientProperties.EntityCaching entityCache = properties.getEntityCache();
+            LOGGER.info("Unleashed entity caching enabled, ttl: {}, max size: {}",
+                    entityCache.getTtl(), entityCache.getMaxSize());
+            return new EntityCache(entityCache.getMaxSize(), entityCache.getTtl());
+        }
+    }
+
+    /**
+     * Restores the reference data and entity caches from a snapshot on startup and persists them periodically
+     */
+    @Configuration
+    @ConditionalOnClass(name = "com.fasterxml.jackson.dataformat.smile.SmileFactory")
+    @ConditionalOnProperty(prefix = "unleashed.client", name = "warm-start.file")
+    static class WarmStartConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(CacheSnapshot.class)
+        public CacheSnapshot unleashedCacheSnapshot(UnleashedClientProperties properties,
+                                                    @Qualifier(UnleashedClient.CACHE_RESOLVER)
+                                                            SimpleCacheResolver cacheResolver,
+                                                    ObjectProvider<EntityCache> entityCache) {
+            LOGGER.info("Unleashed cache snapshots stored in {}", properties.getWarmStart().getFile());
+            return new CacheSnapshot(properties.getWarmStart().getFile(), new UnleashedObjectMapper(),
+                    cacheResolver.getCacheManager(), entityCache.getIfAvailable(),
+                    properties.getEntityCache().getTtl());
+        }
+
+        @Bean
+        public SmartInitializingSingleton unleashedCacheSnapshotRestorer(CacheSnapshot snapshot,
+                                                                         UnleashedClientProperties properties,
+                                                                         ObjectProvider<UnleashedClient> client) {
+            final UnleashedClientProperties.WarmStart warmStart = properties.getWarmStart();
+            return () -> {
+                final List<ReferenceDataCache> restored = snapshot.restore();
+                if (warmStart.isRevalidate() && !restored.isEmpty()) {
+                    snapshot.revalidate(client.getObject(), restored);
+                }
+                snapshot.start(warmStart.getInterval());
+            };
+        }
+    }
+
+    /**
+     * Configures the opt-in HTTP response cache, revalidating responses with their ETag or Last-Modified validators
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "unleashed.client", name = "http-cache.enabled", havingValue = "true")
+    static class HttpCacheConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(HttpResponseCache.class)
+        public HttpResponseCache unleashedHttpResponseCache(UnleashedClientProperties properties) {
+            final UnleashedClientProperties.HttpCache httpCache = properties.getHttpCache();
+            LOGGER.info("Unleashed HTTP response caching enabled, max size: {}, ttl: {}, directory: {}",
+                    httpCache.getMaxSize(), httpCache.getTtl(), httpCache.getDirectory());
+            final HttpResponseCache cache = new HttpResponseCache(httpCache.getMaxSize().toBytes(),
+                    httpCache.getTtl(),
+                    httpCache.getDirectory(),
+                    httpCache.getMaxDiskSize().toBytes());
+            httpCache.getTtls().forEach(cache::setResourceTtl);
+            return cache;
+        }
+    }
+
+    /**
+     * Configures Micrometer metrics for the client, which are bound to the {@link MeterRegistry} bean (if any) once all
+     * singletons have been created
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(UnleashedMetrics.class)
+        public UnleashedMetrics unleashedMetrics(UnleashedClient client,
+                                                 ObjectProvider<UnleashedRateLimiter> rateLimiter) {
+            final UnleashedMetrics metrics = new UnleashedMetrics(client, rateLimiter.getIfAvailable());
+            client.setExchangeObserver(metrics);
+            return metrics;
+        }
+
+        @Bean
+        public SmartInitializingSingleton unleashedMetricsBinder(UnleashedMetrics metrics,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                                                 ObjectProvider<PooledHttpTransport> httpTransport,
+                                                                 ObjectProvider<EntityCache> entityCache,
+                                                                 ObjectProvider<HttpResponseCache> httpCache,
+                                                                 @Qualifier(UnleashedClient.CACHE_RESOLVER)
+                                                                         ObjectProvider<SimpleCacheResolver> cacheResolver) {
+            return () -> meterRegistry.ifAvailable(registry -> {
+                LOGGER.info("Unleashed client metrics enabled");
+                metrics.bindTo(registry);
+                httpTransport.ifAvailable(transport -> HttpPoolMetrics.bindTo(registry, transport));
+                httpCache.ifAvailable(cache -> HttpCacheMetrics.bindTo(registry, cache));
+                entityCache.ifAvailable(cache ->
+                        CaffeineCacheMetrics.monitor(registry, cache.getNativeCache(), "unleashed.entity"));
+                cacheResolver.ifAvailable(resolver -> bindReferenceDataCaches(registry, resolver.getCacheManager()));
+            });
+        }
+
+        /**
+         * The reference data caches are not registered with the application's cache manager, so are not picked up by
+         * the actuator cache metrics and are bound here instead
+         */
+        private static void bindReferenceDataCaches(MeterRegistry registry, CacheManager cacheManager) {
+            for (String name : cacheManager.getCacheNames()) {
+                final Object cache = cacheManager.getCache(name);
+                if (cache instanceof CaffeineCache) {
+                    CaffeineCacheMetrics.monitor(registry, ((CaffeineCache) cache).getNativeCache(), name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Exposes the state of the endpoint circuit breakers and bulkheads through the actuator info endpoint
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.info.InfoContributor")
+    static class EndpointGuardsInfoConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(EndpointGuardsInfoContributor.class)
+        public EndpointGuardsInfoContributor unleashedEndpointGuardsInfoContributor(UnleashedClient client) {
+            return new EndpointGuardsInfoContributor(client);
+        }
+    }
+
+    /**
+     * Configures a pooled HTTP transport when Apache HttpClient is available
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.apache.http.impl.client.HttpClientBuilder")
+    @ConditionalOnProperty(prefix = "unleashed.client", name = "http.pooled", havingValue = "true", matchIfMissing = true)
+    static class PooledHttpConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(PooledHttpTransport.class)
+        public PooledHttpTransport unleashedHttpTransport(UnleashedClientProperties properties) {
+            final UnleashedClientProperties.Http http = properties.getHttp();
+            return new PooledHttpTransport(http.getMaxConnections(),
+                    http.getMaxConnectionsPerRoute(),
+                    http.getConnectTimeout(),
+                    http.getReadTimeout(),
+                    http.getConnectionRequestTimeout(),
+                    http.getIdleTimeout(),
+                    http.isCompression());
+        }
+    }
+
+    /**
+     * Configures an {@link UnleashedReactiveClient} when WebFlux and the Reactor Netty connector are available
+     */
+    @Configuration
+    @ConditionalOnClass(name = {
+            "org.springframework.web.reactive.function.client.WebClient",
+            "reactor.netty.http.client.HttpClient"
+    })
+    static class ReactiveClientConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(UnleashedReactiveClient.class)
+        public UnleashedReactiveClient createUnleashedReactiveClient(ObjectProvider<WebClient.Builder> webClientBuilder,
+                                                                     UnleashedClientProperties properties) {
+            final ApiCredential credential = apiCredential(properties);
+            final WebClient.Builder builder = webClientBuilder.getIfAvailable(WebClient::builder)
+                    .clone()
+                    .filter(new UnleashedAuthExchangeFilter(credential, properties.getSignatureCacheSize()));
 
-        return new UnleashedClient(properties.getBaseUri(), builder, unleashedMessageConverter());
+            return new UnleashedReactiveClient(properties.getBaseUri(), builder, new UnleashedObjectMapper(),
+                    properties.getPagination().getParallelism());
+        }
     }
 
 }
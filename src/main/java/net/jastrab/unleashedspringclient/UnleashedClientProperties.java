@@ -1,12 +1,48 @@
 package net.jastrab.unleashedspringclient;
 
+import net.jastrab.unleashedspringclient.ratelimit.RateLimitMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 @ConfigurationProperties(prefix = "unleashed.client")
 public class UnleashedClientProperties {
     private String apiId;
     private String apiKey;
     private String baseUri = "https://api.unleashedsoftware.com";
+    /**
+     * Maximum number of request signatures cached by query string, 0 disables caching
+     */
+    private int signatureCacheSize = 1024;
+    /**
+     * Share a single response between concurrent identical GET requests. Coalesced callers receive the same model
+     * instances, so enable only when callers do not modify the items they retrieve.
+     */
+    private boolean requestCoalescing = false;
+    /**
+     * Throw an UnleashedApiException on client errors (4xx) instead of returning an empty result
+     */
+    private boolean throwClientErrors = false;
+    private final Pagination pagination = new Pagination();
+    private final RateLimit rateLimit = new RateLimit();
+    private final Retry retry = new Retry();
+    private final Http http = new Http();
+    private final Caching caching = new Caching();
+    private final EntityCaching entityCache = new EntityCaching();
+    private final Sync sync = new Sync();
+    private final Async async = new Async();
+    private final Bulk bulk = new Bulk();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private final Bulkhead bulkhead = new Bulkhead();
+    private final HttpCache httpCache = new HttpCache();
+    private final WarmStart warmStart = new WarmStart();
 
     public String getApiId() {
         return apiId;
@@ -31,4 +67,875 @@ public class UnleashedClientProperties {
     public void setBaseUri(String baseUri) {
         this.baseUri = baseUri;
     }
+
+    public int getSignatureCacheSize() {
+        return signatureCacheSize;
+    }
+
+    public void setSignatureCacheSize(int signatureCacheSize) {
+        this.signatureCacheSize = signatureCacheSize;
+    }
+
+    public boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    public void setRequestCoalescing(boolean requestCoalescing) {
+        this.requestCoalescing = requestCoalescing;
+    }
+
+    public boolean isThrowClientErrors() {
+        return throwClientErrors;
+    }
+
+    public void setThrowClientErrors(boolean throwClientErrors) {
+        this.throwClientErrors = throwClientErrors;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public static class Pagination {
+        /**
+         * Maximum number of pages fetched concurrently when retrieving all pages of a paginated response
+         */
+        private int parallelism = 4;
+        /**
+         * Number of pages requested in the background ahead of the consumer when streaming items
+         */
+        private int prefetch = 2;
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getPrefetch() {
+            return prefetch;
+        }
+
+        public void setPrefetch(int prefetch) {
+            this.prefetch = prefetch;
+        }
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public Caching getCaching() {
+        return caching;
+    }
+
+    public EntityCaching getEntityCache() {
+        return entityCache;
+    }
+
+    public Sync getSync() {
+        return sync;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public HttpCache getHttpCache() {
+        return httpCache;
+    }
+
+    public WarmStart getWarmStart() {
+        return warmStart;
+    }
+
+    public static class Async {
+        /**
+         * Maximum number of threads running asynchronous requests, when virtual threads are not used
+         */
+        private int maxThreads = 16;
+        /**
+         * Run asynchronous requests on virtual threads when the JDK provides them. Request signing state is held per
+         * thread, so it is not reused between requests run on virtual threads.
+         */
+        private boolean virtualThreads = false;
+
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+
+        public void setMaxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+    }
+
+    public static class Bulk {
+        /**
+         * Number of concurrent writes a bulk operation starts with
+         */
+        private int initialConcurrency = 2;
+        /**
+         * Upper bound of the adaptive number of concurrent writes
+         */
+        private int maxConcurrency = 8;
+        /**
+         * Writes slower than this reduce the number of concurrent writes
+         */
+        private Duration latencyThreshold = Duration.ofSeconds(2);
+
+        public int getInitialConcurrency() {
+            return initialConcurrency;
+        }
+
+        public void setInitialConcurrency(int initialConcurrency) {
+            this.initialConcurrency = initialConcurrency;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+    }
+
+    public static class CircuitBreaker {
+        /**
+         * Reject requests to an endpoint without waiting on timeouts while the endpoint is failing
+         */
+        private boolean enabled = false;
+        /**
+         * Fraction of failed requests (5xx and I/O errors) at which the circuit breaker of an endpoint opens
+         */
+        private double failureRateThreshold = 0.5;
+        /**
+         * Number of most recent requests per endpoint from which the failure rate is computed
+         */
+        private int slidingWindowSize = 20;
+        /**
+         * Number of requests recorded before the failure rate is evaluated
+         */
+        private int minimumCalls = 10;
+        /**
+         * Time for which requests are rejected once the circuit breaker opens
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+        /**
+         * Number of trial requests which must succeed to close the circuit breaker again
+         */
+        private int halfOpenCalls = 3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+
+    public static class Bulkhead {
+        /**
+         * Limit the number of concurrent requests per endpoint
+         */
+        private boolean enabled = false;
+        /**
+         * Maximum number of concurrent requests per endpoint
+         */
+        private int maxConcurrentCalls = 10;
+        /**
+         * Maximum time a request waits for the bulkhead of its endpoint before being rejected. Each page fetched
+         * concurrently by getItems occupies a slot, so a few callers paging through the same resource can fill the
+         * bulkhead; waiting lets their pages queue briefly instead of failing.
+         */
+        private Duration maxWait = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    public static class HttpCache {
+        /**
+         * Cache GET responses and revalidate them with ETag and Last-Modified
+         */
+        private boolean enabled = false;
+        /**
+         * Maximum total size of the response bodies held in memory
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(16);
+        /**
+         * Default time for which a response is served without revalidation, zero to always revalidate
+         */
+        private Duration ttl = Duration.ZERO;
+        /**
+         * Per-resource overrides of the ttl, keyed by the first segment of the path (e.g. ProductGroups)
+         */
+        private Map<String, Duration> ttls = new HashMap<>();
+        /**
+         * Directory of the on-disk tier, responses are only cached in memory when not set
+         */
+        private Path directory;
+        /**
+         * Maximum total size of the on-disk tier
+         */
+        private DataSize maxDiskSize = DataSize.ofMegabytes(256);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Map<String, Duration> getTtls() {
+            return ttls;
+        }
+
+        public void setTtls(Map<String, Duration> ttls) {
+            this.ttls = ttls;
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(Path directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getMaxDiskSize() {
+            return maxDiskSize;
+        }
+
+        public void setMaxDiskSize(DataSize maxDiskSize) {
+            this.maxDiskSize = maxDiskSize;
+        }
+    }
+
+    public static class WarmStart {
+        /**
+         * File the reference data and entity caches are persisted to and restored from on startup, warm start is
+         * configured when this is set
+         */
+        private Path file;
+        /**
+         * Interval at which the caches are persisted, they are also persisted on shutdown
+         */
+        private Duration interval = Duration.ofMinutes(10);
+        /**
+         * Reload restored reference data in the background after startup
+         */
+        private boolean revalidate = true;
+
+        public Path getFile() {
+            return file;
+        }
+
+        public void setFile(Path file) {
+            this.file = file;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public boolean isRevalidate() {
+            return revalidate;
+        }
+
+        public void setRevalidate(boolean revalidate) {
+            this.revalidate = revalidate;
+        }
+    }
+
+    public static class Sync {
+        /**
+         * Directory in which delta sync snapshots are stored, delta sync is configured when this is set
+         */
+        private Path directory;
+        /**
+         * Overlap between synchronizations, to tolerate clock skew and items modified during a synchronization
+         */
+        private Duration overlap = Duration.ofMinutes(5);
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(Path directory) {
+            this.directory = directory;
+        }
+
+        public Duration getOverlap() {
+            return overlap;
+        }
+
+        public void setOverlap(Duration overlap) {
+            this.overlap = overlap;
+        }
+    }
+
+    public static class EntityCaching {
+        /**
+         * Cache single entity lookups (products, customers, suppliers and warehouses) by GUID and code
+         */
+        private boolean enabled = false;
+        /**
+         * Time after which a cached entity expires
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+        /**
+         * Maximum number of cache entries, each entity occupies up to two entries (GUID and code)
+         */
+        private long maxSize = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class Caching {
+        /**
+         * Enable caching of reference data, when false a no-op cache manager is configured
+         */
+        private boolean enabled = true;
+        /**
+         * Default time after which cached reference data expires
+         */
+        private Duration ttl = Duration.ofHours(1);
+        /**
+         * Default maximum number of entries per cache
+         */
+        private long maxSize = 100;
+        /**
+         * Reload entries in the background before they expire, so callers are not blocked by an expired entry
+         */
+        private boolean refreshAhead = true;
+        /**
+         * Per-cache overrides of the defaults, keyed by cache name (e.g. attribute_sets)
+         */
+        private Map<String, CacheSpec> caches = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public boolean isRefreshAhead() {
+            return refreshAhead;
+        }
+
+        public void setRefreshAhead(boolean refreshAhead) {
+            this.refreshAhead = refreshAhead;
+        }
+
+        public Map<String, CacheSpec> getCaches() {
+            return caches;
+        }
+
+        public void setCaches(Map<String, CacheSpec> caches) {
+            this.caches = caches;
+        }
+
+        /**
+         * Resolve the configuration of a cache, falling back to the defaults for any value which is not overridden.
+         * Cache names are matched ignoring case and non-alphanumeric characters, as map keys are normalized by binding.
+         */
+        public CacheSpec spec(String cacheName) {
+            final String key = normalize(cacheName);
+            final CacheSpec override = caches.entrySet().stream()
+                    .filter(entry -> normalize(entry.getKey()).equals(key))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElseGet(CacheSpec::new);
+
+            final CacheSpec spec = new CacheSpec();
+            spec.setTtl(override.getTtl() != null ? override.getTtl() : ttl);
+            spec.setMaxSize(override.getMaxSize() != null ? override.getMaxSize() : maxSize);
+            spec.setRefreshAhead(override.getRefreshAhead() != null ? override.getRefreshAhead() : refreshAhead);
+            return spec;
+        }
+
+        private static String normalize(String cacheName) {
+            return cacheName.toLowerCase().replaceAll("[^a-z0-9]", "");
+        }
+    }
+
+    public static class CacheSpec {
+        private Duration ttl;
+        private Long maxSize;
+        private Boolean refreshAhead;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(Long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Boolean getRefreshAhead() {
+            return refreshAhead;
+        }
+
+        public void setRefreshAhead(Boolean refreshAhead) {
+            this.refreshAhead = refreshAhead;
+        }
+    }
+
+    public static class Http {
+        /**
+         * Use a pooled Apache HttpClient transport when it is on the classpath
+         */
+        private boolean pooled = true;
+        /**
+         * Maximum number of pooled connections
+         */
+        private int maxConnections = 50;
+        /**
+         * Maximum number of pooled connections to a single host
+         */
+        private int maxConnectionsPerRoute = 20;
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration readTimeout = Duration.ofSeconds(30);
+        /**
+         * Maximum time to wait for a connection to become available from the pool
+         */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+        /**
+         * Idle time after which pooled connections are closed
+         */
+        private Duration idleTimeout = Duration.ofSeconds(30);
+        /**
+         * Request gzip/deflate compressed responses
+         */
+        private boolean compression = true;
+
+        public boolean isPooled() {
+            return pooled;
+        }
+
+        public void setPooled(boolean pooled) {
+            this.pooled = pooled;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMaxConnectionsPerRoute() {
+            return maxConnectionsPerRoute;
+        }
+
+        public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getConnectionRequestTimeout() {
+            return connectionRequestTimeout;
+        }
+
+        public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+
+        public boolean isCompression() {
+            return compression;
+        }
+
+        public void setCompression(boolean compression) {
+            this.compression = compression;
+        }
+    }
+
+    public static class RateLimit {
+        /**
+         * Enable client side rate limiting of requests
+         */
+        private boolean enabled = false;
+        /**
+         * Rate at which request permits are replenished
+         */
+        private double requestsPerSecond = 5;
+        /**
+         * Maximum number of requests which may be made in a burst
+         */
+        private int burst = 5;
+        /**
+         * Whether requests wait for a permit or fail immediately when none is available
+         */
+        private RateLimitMode mode = RateLimitMode.BLOCK;
+        /**
+         * Maximum time a request will wait for a permit in BLOCK mode
+         */
+        private Duration maxWait = Duration.ofSeconds(30);
+        /**
+         * Limits for individual resources (e.g. Products), which replace the shared limit for that resource
+         */
+        private Map<String, Limit> endpoints = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public RateLimitMode getMode() {
+            return mode;
+        }
+
+        public void setMode(RateLimitMode mode) {
+            this.mode = mode;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public Map<String, Limit> getEndpoints() {
+            return endpoints;
+        }
+
+        public void setEndpoints(Map<String, Limit> endpoints) {
+            this.endpoints = endpoints;
+        }
+    }
+
+    public static class Retry {
+        /**
+         * Maximum number of attempts for a request, including the first. 1 disables retries
+         */
+        private int maxAttempts = 3;
+        /**
+         * Delay before the first retry
+         */
+        private Duration initialBackoff = Duration.ofMillis(500);
+        /**
+         * Factor the delay is multiplied by after each attempt
+         */
+        private double multiplier = 2.0;
+        /**
+         * Upper bound of the delay between attempts (a Retry-After header may exceed it)
+         */
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        /**
+         * Fraction of each delay which may be randomly removed
+         */
+        private double jitter = 0.5;
+        /**
+         * Total time budget for a request and its retries
+         */
+        private Duration maxElapsed = Duration.ofSeconds(60);
+        /**
+         * HTTP methods which are retried. Non-idempotent methods such as POST must be opted in explicitly
+         */
+        private Set<HttpMethod> methods = EnumSet.of(HttpMethod.GET);
+        /**
+         * Response status codes which are retried, I/O errors are always retried
+         */
+        private Set<Integer> statuses = Set.of(429, 502, 503, 504);
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+
+        public Duration getMaxElapsed() {
+            return maxElapsed;
+        }
+
+        public void setMaxElapsed(Duration maxElapsed) {
+            this.maxElapsed = maxElapsed;
+        }
+
+        public Set<HttpMethod> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(Set<HttpMethod> methods) {
+            this.methods = methods;
+        }
+
+        public Set<Integer> getStatuses() {
+            return statuses;
+        }
+
+        public void setStatuses(Set<Integer> statuses) {
+            this.statuses = statuses;
+        }
+    }
+
+    public static class Limit {
+        private double requestsPerSecond = 5;
+        private int burst = 5;
+
+        public double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
 }
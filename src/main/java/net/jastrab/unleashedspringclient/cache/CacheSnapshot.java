@@ -0,0 +1,277 @@
+package net.jastrab.unleashedspringclient.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import net.jastrab.unleashedspringclient.client.UnleashedClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists the reference data caches and the {@link EntityCache} to a compact binary (Smile) file, so a restarted
+ * service can serve cached data before its first request to Unleashed.
+ * <p>
+ * Items are converted with the Unleashed object mapper and only encoded as Smile, so they are read back exactly as
+ * they would be from an API response. Restored reference data is reloaded in the background by {@link #revalidate}.
+ * Entities are restored with the time they had left before expiring when the snapshot was written, less the age of the
+ * snapshot, so they are not served for longer than the entity cache ttl after they were loaded.
+ *
+ * @since 0.5.8
+ */
+public class CacheSnapshot implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheSnapshot.class);
+    private static final int FORMAT = 2;
+    private static final String FORMAT_FIELD = "format";
+    private static final String CREATED_AT = "createdAt";
+    private static final String REFERENCE_DATA = "referenceData";
+    private static final String ENTITIES = "entities";
+    private static final String EXPIRES_AT = "expiresAt";
+    private static final String ENTITY = "entity";
+    private final Path file;
+    private final ObjectMapper mapper;
+    private final ObjectWriter itemWriter;
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+    private final CacheManager cacheManager;
+    private final EntityCache entityCache;
+    private final Duration entityTtl;
+    private final Clock clock;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param file         file the snapshot is written to
+     * @param mapper       mapper converting items, normally the Unleashed object mapper
+     * @param cacheManager cache manager holding the reference data caches, or null
+     * @param entityCache  entity cache, or null
+     * @param entityTtl    ttl of the entity cache
+     */
+    public CacheSnapshot(Path file, ObjectMapper mapper, CacheManager cacheManager, EntityCache entityCache,
+                         Duration entityTtl) {
+        this(file, mapper, cacheManager, entityCache, entityTtl, Clock.systemUTC());
+    }
+
+    CacheSnapshot(Path file, ObjectMapper mapper, CacheManager cacheManager, EntityCache entityCache,
+                  Duration entityTtl, Clock clock) {
+        this.file = Objects.requireNonNull(file, "File cannot be null");
+        this.mapper = Objects.requireNonNull(mapper, "ObjectMapper cannot be null");
+        this.itemWriter = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.cacheManager = cacheManager;
+        this.entityCache = entityCache;
+        this.entityTtl = Objects.requireNonNull(entityTtl, "Entity ttl cannot be null");
+        this.clock = clock;
+    }
+
+    /**
+     * Write the current content of the caches, replacing the previous snapshot
+     */
+    public synchronized void save() {
+        try {
+            final Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (JsonGenerator generator = smile.getFactory().createGenerator(Files.newOutputStream(temp))) {
+                    write(generator);
+                }
+                move(temp, file);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            LOGGER.debug("Cache snapshot written to {} ({} bytes)", file, Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cache snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Fill the caches from the snapshot, if one exists and can be read. A snapshot which cannot be read is ignored.
+     *
+     * @return the reference data caches which were restored
+     */
+    public synchronized List<ReferenceDataCache> restore() {
+        if (!Files.exists(file)) {
+            LOGGER.debug("No cache snapshot found at {}", file);
+            return List.of();
+        }
+        final JsonNode root;
+        try (InputStream in = Files.newInputStream(file)) {
+            root = smile.readTree(in);
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable cache snapshot {}: {}", file, e.getMessage());
+            return List.of();
+        }
+        if (root == null || root.path(FORMAT_FIELD).asInt() != FORMAT) {
+            LOGGER.warn("Ignoring cache snapshot {} with unsupported format", file);
+            return List.of();
+        }
+
+        final List<ReferenceDataCache> restored = new ArrayList<>();
+        for (ReferenceDataCache reference : ReferenceDataCache.values()) {
+            final JsonNode items = root.path(REFERENCE_DATA).get(reference.getCacheName());
+            final Cache cache = cacheManager == null ? null : cacheManager.getCache(reference.getCacheName());
+            if (items != null && cache != null && tryRestore(reference.getCacheName(), () -> cache.put(SimpleKey.EMPTY,
+                    mapper.convertValue(items, mapper.getTypeFactory()
+                            .constructCollectionType(List.class, reference.getItemType()))))) {
+                restored.add(reference);
+            }
+        }
+
+        final Instant now = clock.instant();
+        if (entityCache != null) {
+            for (Class<?> type : entityCache.getTypes()) {
+                final JsonNode entries = root.path(ENTITIES).get(type.getName());
+                if (entries != null) {
+                    tryRestore(type.getSimpleName(), () -> entries.forEach(entry -> {
+                        final Duration remaining = Duration.between(now,
+                                Instant.ofEpochMilli(entry.path(EXPIRES_AT).asLong()));
+                        if (!remaining.isNegative() && !remaining.isZero()) {
+                            entityCache.restore(mapper.convertValue(entry.get(ENTITY), type),
+                                    remaining.compareTo(entityTtl) < 0 ? remaining : entityTtl);
+                        }
+                    }));
+                }
+            }
+        }
+        final Instant createdAt = Instant.parse(root.path(CREATED_AT).asText(Instant.EPOCH.toString()));
+        final Duration age = Duration.between(createdAt, now);
+        LOGGER.info("Restored cache snapshot from {} ({} old), reference data: {}", file, age, restored);
+        return restored;
+    }
+
+    /**
+     * Reload restored reference data in the background, replacing the restored values once loaded
+     */
+    public CompletableFuture<Void> revalidate(UnleashedClient client, Collection<ReferenceDataCache> references) {
+        return CompletableFuture.allOf(references.stream()
+                .map(reference -> reference.loadAsync(client)
+                        .thenAccept(items -> cacheManager.getCache(reference.getCacheName()).put(SimpleKey.EMPTY, items))
+                        .exceptionally(e -> {
+                            LOGGER.warn("Failed to revalidate {}: {}", reference.getCacheName(), e.getMessage());
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Save the snapshot periodically until closed
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "unleashed-cache-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                save();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to save cache snapshot: {}", e.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop periodic saving and write a final snapshot
+     */
+    @Override
+    public void close() {
+        final ScheduledExecutorService running;
+        synchronized (this) {
+            running = scheduler;
+            scheduler = null;
+        }
+        if (running == null) {
+            return;
+        }
+        running.shutdownNow();
+        try {
+            save();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to save cache snapshot on shutdown: {}", e.getMessage());
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private void write(JsonGenerator generator) throws IOException {
+        final Instant createdAt = clock.instant();
+        generator.writeStartObject();
+        generator.writeNumberField(FORMAT_FIELD, FORMAT);
+        generator.writeStringField(CREATED_AT, createdAt.toString());
+        generator.writeObjectFieldStart(REFERENCE_DATA);
+        for (ReferenceDataCache reference : ReferenceDataCache.values()) {
+            final Cache cache = cacheManager == null ? null : cacheManager.getCache(reference.getCacheName());
+            final Cache.ValueWrapper value = cache == null ? null : cache.get(SimpleKey.EMPTY);
+            if (value != null && value.get() != null) {
+                generator.writeFieldName(reference.getCacheName());
+                itemWriter.writeValue(generator, value.get());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeObjectFieldStart(ENTITIES);
+        if (entityCache != null) {
+            for (Map.Entry<Class<?>, List<Object>> entities : entityCache.getEntities().entrySet()) {
+                generator.writeArrayFieldStart(entities.getKey().getName());
+                for (Object entity : entities.getValue()) {
+                    generator.writeStartObject();
+                    generator.writeNumberField(EXPIRES_AT,
+                            createdAt.plus(entityCache.getExpiresAfter(entity)).toEpochMilli());
+                    generator.writeFieldName(ENTITY);
+                    itemWriter.writeValue(generator, entity);
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private boolean tryRestore(String name, Runnable restore) {
+        try {
+            restore.run();
+            return true;
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Ignoring {} in cache snapshot {}: {}", name, file, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package net.jastrab.unleashedspringclient.cache;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Describes how an entity type is identified for the {@link EntityCache}: by its GUID and by its natural code, along
+ * with the query parameter used to look the entity up by code.
+ *
+ * @param <T> type of the entity
+ * @since 0.5.8
+ */
+public class CachedEntityType<T> {
+    private final Class<T> type;
+    private final String codeParameter;
+    private final Function<T, Object> guid;
+    private final Function<T, String> code;
+
+    public CachedEntityType(Class<T> type, String codeParameter, Function<T, Object> guid, Function<T, String> code) {
+        this.type = Objects.requireNonNull(type, "Type cannot be null");
+        this.codeParameter = Objects.requireNonNull(codeParameter, "Code parameter cannot be null");
+        this.guid = Objects.requireNonNull(guid, "GUID accessor cannot be null");
+        this.code = Objects.requireNonNull(code, "Code accessor cannot be null");
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public String getCodeParameter() {
+        return codeParameter;
+    }
+
+    String guidOf(Object entity) {
+        final Object value = guid.apply(type.cast(entity));
+        return value == null ? null : value.toString().toLowerCase();
+    }
+
+    String codeOf(Object entity) {
+        return code.apply(type.cast(entity));
+    }
+}
@@ -0,0 +1,383 @@
+package net.jastrab.unleashedspringclient.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Ticker;
+import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
+import net.jastrab.unleashed.api.http.UnleashedRequest;
+import net.jastrab.unleashed.api.models.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for single entity lookups, indexing each entity by both its GUID and its natural code.
+ * <p>
+ * A request is served from the cache when it is a lookup of a registered entity type either by code (the query
+ * consists of only the code parameter, e.g. {@code productCode=07-012}) or by GUID (the last path segment is a GUID).
+ * Concurrent misses for the same key are coalesced into a single load. Empty results are not cached, nor are results
+ * whose code or GUID does not exactly match the key, as the API matches codes partially.
+ * <p>
+ * Entities are copied on the way in and out of the cache, so callers may freely modify the entities they are given
+ * without affecting the cached entry or other callers. Entries expire once the ttl has elapsed since they were written,
+ * except restored entries which keep the time they had left.
+ *
+ * @since 0.5.8
+ */
+public class EntityCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityCache.class);
+    private final Cache<Key, Object> cache;
+    private final Policy.VarExpiration<Key, Object> expiration;
+    private final Map<Class<?>, CachedEntityType<?>> types = new ConcurrentHashMap<>();
+    private final ObjectMapper mapper;
+
+    public EntityCache(long maxSize, Duration ttl) {
+        this(maxSize, ttl, new UnleashedObjectMapper());
+    }
+
+    /**
+     * @param mapper mapper used to copy entities, which must be able to round trip every registered entity type
+     */
+    public EntityCache(long maxSize, Duration ttl, ObjectMapper mapper) {
+        this(maxSize, ttl, mapper, Ticker.systemTicker());
+    }
+
+    EntityCache(long maxSize, Duration ttl, ObjectMapper mapper, Ticker ticker) {
+        this.mapper = Objects.requireNonNull(mapper, "Mapper cannot be null");
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new WriteExpiry(ttl))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.expiration = cache.policy().expireVariably().orElseThrow();
+        register(new CachedEntityType<>(Product.class, "productCode", Product::getGuid, Product::getProductCode));
+        register(new CachedEntityType<>(Customer.class, "customerCode", Customer::getGuid, Customer::getCustomerCode));
+        register(new CachedEntityType<>(net.jastrab.unleashed.api.models.Supplier.class, "supplierCode",
+                net.jastrab.unleashed.api.models.Supplier::getGuid,
+                net.jastrab.unleashed.api.models.Supplier::getSupplierCode));
+        register(new CachedEntityType<>(Warehouse.class, "warehouseCode", Warehouse::getGuid, Warehouse::getWarehouseCode));
+    }
+
+    public void register(CachedEntityType<?> type) {
+        types.put(type.getType(), type);
+    }
+
+    /**
+     * Resolve the cache key of a request
+     *
+     * @return the key if the request is a cacheable single entity lookup, otherwise empty
+     */
+    public Optional<Key> keyFor(UnleashedRequest<?> request) {
+        final CachedEntityType<?> type = itemType(request.getResponseType()).map(types::get).orElse(null);
+        if (type == null) {
+            return Optional.empty();
+        }
+        final String query = request.getQuery();
+        if (query != null && !query.isEmpty()) {
+            final String prefix = type.getCodeParameter() + "=";
+            if (query.indexOf('&') < 0 && query.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                return Optional.of(new Key(type.getType(), false, query.substring(prefix.length())));
+            }
+            return Optional.empty();
+        }
+        final String path = request.getPath();
+        final String segment = path.substring(path.lastIndexOf('/', path.length() - 2) + 1).replace("/", "");
+        try {
+            return Optional.of(new Key(type.getType(), true, UUID.fromString(segment).toString()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Get an entity from the cache, loading it if absent. Concurrent calls for the same key share a single load.
+     * <p>
+     * A loaded entity is also indexed by its other key, unless that key is already cached. A cache hit leaves the entry
+     * untouched, so it expires once the ttl has elapsed since it was loaded however often it is read. A loaded entity
+     * which does not match the key (e.g. a lookup of code {@code ABC} which found {@code ABC-1}) is returned but not
+     * cached.
+     *
+     * @param key    cache key from {@link #keyFor}
+     * @param loader loads the entity on a cache miss
+     * @param <T>    type of the entity
+     * @return a copy of the cached or loaded entity, or empty if the loader found nothing
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(Key key, Supplier<Optional<T>> loader) {
+        final Object[] unmatched = new Object[1];
+        final boolean[] loaded = new boolean[1];
+        final Object entity = cache.get(key, missing -> {
+            LOGGER.debug("Entity cache miss for {}", missing);
+            final Object result = loader.get().orElse(null);
+            if (result != null && !matches(missing, result)) {
+                LOGGER.debug("Not caching {} as it does not match {}", result, missing);
+                unmatched[0] = result;
+                return null;
+            }
+            loaded[0] = result != null;
+            return result;
+        });
+        if (entity == null) {
+            return Optional.ofNullable((T) unmatched[0]);
+        }
+        if (loaded[0]) {
+            indexIfAbsent(entity);
+        }
+        return Optional.of((T) copy(entity));
+    }
+
+    /**
+     * Refresh the cached entries of an entity which has been written, replacing any entry indexed by its previous code
+     */
+    public void put(Object entity) {
+        final CachedEntityType<?> type = types.get(entity.getClass());
+        if (type == null) {
+            return;
+        }
+        final String guid = type.guidOf(entity);
+        if (guid != null) {
+            final Object previous = cache.getIfPresent(new Key(type.getType(), true, guid));
+            if (previous != null && type.codeOf(previous) != null) {
+                cache.invalidate(new Key(type.getType(), false, type.codeOf(previous)));
+            }
+        }
+        index(copy(entity));
+    }
+
+    /**
+     * Remove the cached entries of an entity, e.g. after a failed write
+     */
+    public void invalidate(Object entity) {
+        final CachedEntityType<?> type = types.get(entity.getClass());
+        if (type == null) {
+            return;
+        }
+        final String guid = type.guidOf(entity);
+        if (guid != null) {
+            cache.invalidate(new Key(type.getType(), true, guid));
+        }
+        if (type.codeOf(entity) != null) {
+            cache.invalidate(new Key(type.getType(), false, type.codeOf(entity)));
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Add an entity which expires after the given time instead of the ttl, e.g. when restoring a snapshot. Entities of
+     * types which are not registered are ignored.
+     */
+    public void restore(Object entity, Duration expiresAfter) {
+        index(entity, expiresAfter);
+    }
+
+    /**
+     * @return the time until a cached entity expires, or zero if it is not cached
+     */
+    public Duration getExpiresAfter(Object entity) {
+        final CachedEntityType<?> type = types.get(entity.getClass());
+        if (type == null) {
+            return Duration.ZERO;
+        }
+        final String guid = type.guidOf(entity);
+        final String code = type.codeOf(entity);
+        if (guid == null && code == null) {
+            return Duration.ZERO;
+        }
+        final OptionalLong nanos = expiration.getExpiresAfter(
+                guid != null ? new Key(type.getType(), true, guid) : new Key(type.getType(), false, code),
+                TimeUnit.NANOSECONDS);
+        return nanos.isPresent() ? Duration.ofNanos(nanos.getAsLong()) : Duration.ZERO;
+    }
+
+    /**
+     * @return the distinct cached entities by type, each entity is listed once although it is indexed twice
+     */
+    public Map<Class<?>, List<Object>> getEntities() {
+        final Map<Class<?>, List<Object>> entities = new HashMap<>();
+        final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        cache.asMap().forEach((key, entity) -> {
+            if (seen.add(entity)) {
+                entities.computeIfAbsent(key.type, type -> new ArrayList<>()).add(entity);
+            }
+        });
+        return entities;
+    }
+
+    /**
+     * @return the registered entity types
+     */
+    public Set<Class<?>> getTypes() {
+        return Set.copyOf(types.keySet());
+    }
+
+    /**
+     * @return the underlying Caffeine cache, e.g. for binding statistics
+     */
+    public Cache<Key, Object> getNativeCache() {
+        return cache;
+    }
+
+    private void index(Object entity) {
+        index(entity, null);
+    }
+
+    /**
+     * Index a loaded entity by the keys which are not cached yet. Caffeine does not allow other entries to be written
+     * while an entry is loaded, so this is done after the load completes.
+     */
+    private void indexIfAbsent(Object entity) {
+        final CachedEntityType<?> type = types.get(entity.getClass());
+        if (type == null) {
+            return;
+        }
+        final String guid = type.guidOf(entity);
+        final String code = type.codeOf(entity);
+        if (guid != null) {
+            cache.asMap().putIfAbsent(new Key(type.getType(), true, guid), entity);
+        }
+        if (code != null) {
+            cache.asMap().putIfAbsent(new Key(type.getType(), false, code), entity);
+        }
+    }
+
+    /**
+     * @param expiresAfter time after which the entries expire, or null for the ttl
+     */
+    private void index(Object entity, Duration expiresAfter) {
+        final CachedEntityType<?> type = types.get(entity.getClass());
+        if (type == null) {
+            return;
+        }
+        final String guid = type.guidOf(entity);
+        final String code = type.codeOf(entity);
+        if (guid != null) {
+            put(new Key(type.getType(), true, guid), entity, expiresAfter);
+        }
+        if (code != null) {
+            put(new Key(type.getType(), false, code), entity, expiresAfter);
+        }
+    }
+
+    private void put(Key key, Object entity, Duration expiresAfter) {
+        if (expiresAfter == null) {
+            cache.put(key, entity);
+        } else {
+            expiration.put(key, entity, expiresAfter.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean matches(Key key, Object entity) {
+        final CachedEntityType<?> type = types.get(key.type);
+        if (type == null || !type.getType().isInstance(entity)) {
+            return false;
+        }
+        return key.value.equals(key.guid ? type.guidOf(entity) : type.codeOf(entity));
+    }
+
+    private Object copy(Object entity) {
+        try {
+            final TokenBuffer buffer = new TokenBuffer(mapper, false);
+            mapper.writeValue(buffer, entity);
+            return mapper.readValue(buffer.asParser(), entity.getClass());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to copy entity " + entity, e);
+        }
+    }
+
+    private static Optional<Class<?>> itemType(Type responseType) {
+        if (responseType instanceof ParameterizedType) {
+            final Type[] arguments = ((ParameterizedType) responseType).getActualTypeArguments();
+            if (arguments.length == 1 && arguments[0] instanceof Class) {
+                return Optional.of((Class<?>) arguments[0]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Expires entries once the ttl has elapsed since they were last written, as expireAfterWrite does, while allowing
+     * restored entries to be written with their own expiry
+     */
+    private static final class WriteExpiry implements Expiry<Key, Object> {
+        private final long ttl;
+
+        private WriteExpiry(Duration ttl) {
+            this.ttl = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Key key, Object value, long currentTime) {
+            return ttl;
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Object value, long currentTime, long currentDuration) {
+            return ttl;
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Cache key of an entity, either by GUID or by natural code
+     */
+    public static final class Key {
+        private final Class<?> type;
+        private final boolean guid;
+        private final String value;
+
+        Key(Class<?> type, boolean guid, String value) {
+            this.type = type;
+            this.guid = guid;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return guid == key.guid && type.equals(key.type) && value.equals(key.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, guid, value);
+        }
+
+        @Override
+        public String toString() {
+            return type.getSimpleName() + (guid ? "[guid=" : "[code=") + value + "]";
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package net.jastrab.unleashedspringclient.cache;
+
+import net.jastrab.unleashed.api.SimpleGetRequest;
+import net.jastrab.unleashed.api.models.*;
+import net.jastrab.unleashedspringclient.client.UnleashedClient;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The reference data caches used by the {@code @Cacheable} getters of {@link UnleashedClient}
+ *
+ * @since 0.5.8
+ */
+public enum ReferenceDataCache {
+    ATTRIBUTE_SETS("attribute_sets", AttributeSet.class),
+    PAYMENT_TERMS("payment_terms", PaymentTerm.class),
+    PRODUCT_GROUPS("product_groups", ProductGroup.class),
+    UNITS_OF_MEASURE("units_measure", UnitOfMeasure.class),
+    CUSTOMER_TYPES("customer_types", CustomerType.class);
+
+    private final String cacheName;
+    private final Class<?> itemType;
+
+    ReferenceDataCache(String cacheName, Class<?> itemType) {
+        this.cacheName = cacheName;
+        this.itemType = itemType;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public Class<?> getItemType() {
+        return itemType;
+    }
+
+    /**
+     * Load the reference data directly from the API, bypassing the cache
+     */
+    public List<?> load(UnleashedClient client) {
+        return client.getItems(new SimpleGetRequest<>(itemType));
+    }
+
+    /**
+     * Load the reference data from the API on the asynchronous executor of the client, bypassing the cache
+     */
+    public CompletableFuture<? extends List<?>> loadAsync(UnleashedClient client) {
+        return client.getItemsAsync(new SimpleGetRequest<>(itemType));
+    }
+}
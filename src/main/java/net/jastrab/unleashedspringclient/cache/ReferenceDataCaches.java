@@ -0,0 +1,81 @@
+package net.jastrab.unleashedspringclient.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.jastrab.unleashedspringclient.UnleashedClientProperties;
+import net.jastrab.unleashedspringclient.client.UnleashedClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the Caffeine backed cache manager for {@link ReferenceDataCache reference data}.
+ * <p>
+ * Each cache is bounded by size and expires entries after their TTL. With refresh-ahead enabled, an entry which is read
+ * after 80% of its TTL has elapsed is reloaded in the background while the current value continues to be served.
+ *
+ * @since 0.5.8
+ */
+public final class ReferenceDataCaches {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceDataCaches.class);
+
+    private ReferenceDataCaches() {
+    }
+
+    /**
+     * @param caching cache configuration
+     * @param client  supplier of the client used to reload entries, resolved lazily on the first load
+     */
+    public static SimpleCacheManager cacheManager(UnleashedClientProperties.Caching caching,
+                                                  Supplier<UnleashedClient> client) {
+        final SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(Arrays.stream(ReferenceDataCache.values())
+                .map(cache -> caffeineCache(cache.getCacheName(), caching.spec(cache.getCacheName()),
+                        key -> cache.load(client.get())))
+                .collect(Collectors.toList()));
+
+        return cacheManager;
+    }
+
+    /**
+     * Resolver for the {@link UnleashedClient} reference data getters, backed by a cache manager which is private to the
+     * client rather than registered as the application's {@link org.springframework.cache.CacheManager}
+     *
+     * @param caching cache configuration
+     * @param client  supplier of the client used to reload entries, resolved lazily on the first load
+     */
+    public static SimpleCacheResolver cacheResolver(UnleashedClientProperties.Caching caching,
+                                                    Supplier<UnleashedClient> client) {
+        final SimpleCacheManager cacheManager = cacheManager(caching, client);
+        cacheManager.afterPropertiesSet();
+        return new SimpleCacheResolver(cacheManager);
+    }
+
+    static CaffeineCache caffeineCache(String name, UnleashedClientProperties.CacheSpec spec,
+                                       Function<Object, Object> loader) {
+        LOGGER.debug("Configuring cache {} with ttl: {}, max size: {}, refresh ahead: {}",
+                name, spec.getTtl(), spec.getMaxSize(), spec.getRefreshAhead());
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl())
+                .recordStats();
+        if (!spec.getRefreshAhead()) {
+            return new CaffeineCache(name, builder.build(), false);
+        }
+
+        return new CaffeineCache(name, builder
+                .refreshAfterWrite(refreshAfter(spec.getTtl()))
+                .build(loader::apply), false);
+    }
+
+    private static Duration refreshAfter(Duration ttl) {
+        return Duration.ofMillis(Math.max(1, ttl.toMillis() * 4 / 5));
+    }
+}
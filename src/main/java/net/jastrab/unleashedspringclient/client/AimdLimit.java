@@ -0,0 +1,83 @@
+package net.jastrab.unleashedspringclient.client;
+
+import java.time.Duration;
+
+/**
+ * Concurrency limit adjusted by additive increase / multiplicative decrease (AIMD).
+ * <p>
+ * Each request completed within the latency threshold increases the limit by {@code 1 / limit}, i.e. by one for every
+ * {@code limit} successful requests. A request which signals overload (429, 5xx or an I/O error), or which exceeds the
+ * latency threshold, multiplies the limit by the backoff ratio.
+ */
+class AimdLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private double limit;
+    private int inFlight;
+
+    AimdLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Start a request if the current limit permits it
+     *
+     * @return true if the request may be started, in which case its outcome must be reported
+     */
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    synchronized void onSuccess(long latencyNanos) {
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        release();
+    }
+
+    synchronized void onOverload() {
+        decrease();
+        release();
+    }
+
+    /**
+     * Release a request whose outcome says nothing about the load on the server, e.g. a validation error
+     */
+    synchronized void onIgnore() {
+        release();
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+
+    private void release() {
+        inFlight--;
+    }
+}
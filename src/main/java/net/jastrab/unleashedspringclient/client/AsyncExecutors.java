@@ -0,0 +1,85 @@
+package net.jastrab.unleashedspringclient.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskDecorator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for the asynchronous methods of {@link UnleashedClient}
+ *
+ * @since 0.5.8
+ */
+public final class AsyncExecutors {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncExecutors.class);
+    public static final int DEFAULT_MAX_THREADS = 16;
+
+    private AsyncExecutors() {
+    }
+
+    /**
+     * Create an executor for asynchronous requests. A virtual-thread-per-task executor is used if requested and the
+     * running JDK provides one, otherwise a pool of at most {@code maxThreads} daemon threads which time out when idle.
+     */
+    public static ExecutorService newExecutor(int maxThreads, boolean virtualThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("Max threads must be at least 1");
+        }
+        if (virtualThreads) {
+            final ExecutorService executor = newVirtualThreadExecutor();
+            if (executor != null) {
+                LOGGER.debug("Using virtual threads for asynchronous requests");
+                return executor;
+            }
+        }
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new AsyncThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * @return a virtual-thread-per-task executor, or null if the running JDK does not provide one
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            // e.g. virtual threads are a preview feature which is not enabled
+            LOGGER.debug("Virtual threads are not available: {}", e.getCause().toString());
+            return null;
+        }
+    }
+
+    /**
+     * Wrap an executor so that every task is decorated, e.g. to propagate the MDC or trace context of the submitting
+     * thread
+     */
+    public static Executor decorate(Executor executor, TaskDecorator decorator) {
+        return command -> executor.execute(decorator.decorate(command));
+    }
+
+    private static class AsyncThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "unleashed-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
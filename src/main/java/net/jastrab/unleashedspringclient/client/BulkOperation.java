@@ -0,0 +1,98 @@
+package net.jastrab.unleashedspringclient.client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handle of a bulk write started by {@link UnleashedClient#createItems}, used to follow its progress, wait for its
+ * results or cancel it
+ *
+ * @param <T> type of the items being written
+ * @since 0.5.8
+ */
+public class BulkOperation<T> {
+    private final int total;
+    private final AimdLimit limit;
+    private final CompletableFuture<List<BulkResult<T>>> completion = new CompletableFuture<>();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicInteger completed = new AtomicInteger();
+    private volatile Runnable cancelListener;
+
+    BulkOperation(int total, AimdLimit limit) {
+        this.total = total;
+        this.limit = limit;
+    }
+
+    /**
+     * Stop writing items. Writes already in flight complete, items which have not been written are reported as
+     * {@link BulkResult.Status#CANCELLED}.
+     *
+     * @return true if this call cancelled the operation
+     */
+    public boolean cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return false;
+        }
+        final Runnable listener = cancelListener;
+        if (listener != null) {
+            listener.run();
+        }
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * @return future completed with the result of every item, in the order the items were submitted
+     */
+    public CompletableFuture<List<BulkResult<T>>> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Wait for the operation to complete
+     *
+     * @return the result of every item, in the order the items were submitted
+     */
+    public List<BulkResult<T>> join() {
+        return Futures.join(completion);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return number of items with a final result
+     */
+    public int getCompletedCount() {
+        return completed.get();
+    }
+
+    /**
+     * @return current number of concurrent writes permitted by the adaptive limit
+     */
+    public int getConcurrencyLimit() {
+        return limit.getLimit();
+    }
+
+    AimdLimit limit() {
+        return limit;
+    }
+
+    void onCancel(Runnable cancelListener) {
+        this.cancelListener = cancelListener;
+    }
+
+    void onItemCompleted() {
+        completed.incrementAndGet();
+    }
+
+    void complete(List<BulkResult<T>> results) {
+        completion.complete(results);
+    }
+}
@@ -0,0 +1,86 @@
+package net.jastrab.unleashedspringclient.client;
+
+import java.util.Optional;
+
+/**
+ * Outcome of writing a single item as part of {@link UnleashedClient#createItems}
+ *
+ * @param <T> type of the item
+ * @since 0.5.8
+ */
+public class BulkResult<T> {
+
+    public enum Status {
+        /**
+         * The item was written
+         */
+        SUCCEEDED,
+        /**
+         * The item could not be written
+         */
+        FAILED,
+        /**
+         * The operation was cancelled before the item was written
+         */
+        CANCELLED
+    }
+
+    private final T item;
+    private final Status status;
+    private final T result;
+    private final RuntimeException error;
+
+    private BulkResult(T item, Status status, T result, RuntimeException error) {
+        this.item = item;
+        this.status = status;
+        this.result = result;
+        this.error = error;
+    }
+
+    static <T> BulkResult<T> succeeded(T item, T result) {
+        return new BulkResult<>(item, Status.SUCCEEDED, result, null);
+    }
+
+    static <T> BulkResult<T> failed(T item, RuntimeException error) {
+        return new BulkResult<>(item, Status.FAILED, null, error);
+    }
+
+    static <T> BulkResult<T> cancelled(T item) {
+        return new BulkResult<>(item, Status.CANCELLED, null, null);
+    }
+
+    /**
+     * @return the item as submitted
+     */
+    public T getItem() {
+        return item;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the item returned by Unleashed, if it was written
+     */
+    public Optional<T> getResult() {
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * @return the error which caused the write to fail, if any. Client errors are reported as
+     * {@link UnleashedApiException}, carrying the error returned by Unleashed.
+     */
+    public Optional<RuntimeException> getError() {
+        return Optional.ofNullable(error);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResult{" +
+                "status=" + status +
+                ", item=" + item +
+                (error != null ? ", error=" + error : "") +
+                '}';
+    }
+}
@@ -0,0 +1,177 @@
+package net.jastrab.unleashedspringclient.client;
+
+import net.jastrab.unleashedspringclient.resilience.CallNotPermittedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Writes a list of items with a concurrency limited by an {@link AimdLimit}. Items rejected with 429 (Too Many
+ * Requests) have not been applied and are requeued, up to {@link #MAX_ATTEMPTS} times. Items rejected by an endpoint
+ * guard ({@link CallNotPermittedException}) have not been sent at all; they are paused for
+ * {@link #REJECTED_PAUSE_MILLIS} per attempt before being requeued, so an open circuit or full bulkhead is not retried
+ * immediately.
+ * <p>
+ * No thread waits on the limit: writes are dispatched when the operation starts and whenever a write completes, so
+ * bulk operations only occupy executor threads while a request is in flight.
+ *
+ * @param <T> type of the items
+ */
+class BulkWriter<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkWriter.class);
+    static final int MAX_ATTEMPTS = 3;
+    static final long REJECTED_PAUSE_MILLIS = 1000;
+    private final List<T> items;
+    private final Function<T, Optional<T>> writer;
+    private final Executor executor;
+    private final BulkOperation<T> operation;
+    private final AimdLimit limit;
+    private final Queue<Integer> queue = new ConcurrentLinkedQueue<>();
+    private final BulkResult<T>[] results;
+    private final int[] attempts;
+    private final AtomicInteger unresolved;
+
+    @SuppressWarnings("unchecked")
+    BulkWriter(List<T> items, Function<T, Optional<T>> writer, Executor executor, BulkOperation<T> operation) {
+        this.items = items;
+        this.writer = writer;
+        this.executor = executor;
+        this.operation = operation;
+        this.limit = operation.limit();
+        this.results = new BulkResult[items.size()];
+        this.attempts = new int[items.size()];
+        this.unresolved = new AtomicInteger(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            queue.add(i);
+        }
+    }
+
+    /**
+     * Start writing items, returns without waiting for any write to complete
+     */
+    BulkOperation<T> start() {
+        operation.onCancel(this::drain);
+        if (items.isEmpty()) {
+            operation.complete(List.of());
+        } else {
+            dispatch();
+        }
+        return operation;
+    }
+
+    /**
+     * Start as many queued writes as the limit permits
+     */
+    private void dispatch() {
+        while (!operation.isCancelled() && !queue.isEmpty() && limit.tryAcquire()) {
+            final Integer index = queue.poll();
+            if (index == null) {
+                limit.onIgnore();
+                return;
+            }
+            try {
+                executor.execute(() -> write(index));
+            } catch (RejectedExecutionException e) {
+                limit.onIgnore();
+                resolve(index, BulkResult.failed(items.get(index), e));
+            }
+        }
+        if (operation.isCancelled()) {
+            drain();
+        }
+    }
+
+    private void write(int index) {
+        final T item = items.get(index);
+        final long start = System.nanoTime();
+        try {
+            final Optional<T> result = writer.apply(item);
+            limit.onSuccess(System.nanoTime() - start);
+            resolve(index, result
+                    .map(written -> BulkResult.succeeded(item, written))
+                    .orElseGet(() -> BulkResult.failed(item, null)));
+        } catch (RuntimeException e) {
+            if (isOverload(e)) {
+                limit.onOverload();
+            } else {
+                limit.onIgnore();
+            }
+            if (isTooManyRequests(e) && ++attempts[index] < MAX_ATTEMPTS) {
+                LOGGER.debug("Write rejected with 429, requeueing item {} (concurrency limit {})",
+                        index, limit.getLimit());
+                queue.add(index);
+            } else if (e instanceof CallNotPermittedException && ++attempts[index] < MAX_ATTEMPTS) {
+                final long pause = REJECTED_PAUSE_MILLIS * attempts[index];
+                LOGGER.debug("Write not permitted ({}), requeueing item {} in {}ms (concurrency limit {})",
+                        ((CallNotPermittedException) e).getReason(), index, pause, limit.getLimit());
+                CompletableFuture.delayedExecutor(pause, TimeUnit.MILLISECONDS, Runnable::run).execute(() -> {
+                    queue.add(index);
+                    dispatch();
+                });
+            } else {
+                resolve(index, BulkResult.failed(item, e));
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Report every item which has not been dispatched as cancelled
+     */
+    private void drain() {
+        for (Integer index = queue.poll(); index != null; index = queue.poll()) {
+            resolve(index, BulkResult.cancelled(items.get(index)));
+        }
+    }
+
+    private void resolve(int index, BulkResult<T> result) {
+        results[index] = result;
+        operation.onItemCompleted();
+        if (unresolved.decrementAndGet() == 0) {
+            if (operation.isCancelled()) {
+                LOGGER.info("Bulk write cancelled, {} of {} items were not written",
+                        Arrays.stream(results).filter(r -> r.getStatus() == BulkResult.Status.CANCELLED).count(),
+                        items.size());
+            }
+            operation.complete(new ArrayList<>(Arrays.asList(results)));
+        }
+    }
+
+    static boolean isTooManyRequests(RuntimeException e) {
+        return status(e) == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    /**
+     * @return true if the failure indicates the server is overloaded: 429, a server error, an I/O error, or a rejection
+     * by the circuit breaker or bulkhead of the endpoint
+     */
+    static boolean isOverload(RuntimeException e) {
+        final int status = status(e);
+        return status == HttpStatus.TOO_MANY_REQUESTS.value() || status >= 500 || e instanceof ResourceAccessException
+                || e instanceof CallNotPermittedException;
+    }
+
+    private static int status(RuntimeException e) {
+        if (e instanceof UnleashedApiException) {
+            return ((UnleashedApiException) e).getStatus().value();
+        } else if (e instanceof RestClientResponseException) {
+            return ((RestClientResponseException) e).getRawStatusCode();
+        }
+        return 0;
+    }
+}
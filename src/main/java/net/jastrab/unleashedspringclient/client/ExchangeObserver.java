@@ -0,0 +1,41 @@
+package net.jastrab.unleashedspringclient.client;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Receives the outcome of every request made by an {@link UnleashedClient}, e.g. to record metrics.
+ * <p>
+ * Observers are called on the requesting thread and must not block.
+ *
+ * @since 0.5.8
+ */
+public interface ExchangeObserver {
+    /**
+     * Status reported for requests which failed without a response, e.g. due to an I/O error
+     */
+    int NO_RESPONSE = 0;
+
+    ExchangeObserver NOOP = new ExchangeObserver() {
+    };
+
+    /**
+     * Called when a request (including any retries) completes
+     *
+     * @param method        HTTP method of the request
+     * @param path          path of the resource, without any page suffix
+     * @param status        HTTP status of the final response, or {@link #NO_RESPONSE}
+     * @param durationNanos time taken by the request, including retries
+     */
+    default void onExchange(HttpMethod method, String path, int status, long durationNanos) {
+    }
+
+    /**
+     * Called when all pages of a paginated request have been retrieved
+     *
+     * @param path  path of the resource
+     * @param pages number of pages retrieved
+     * @param items total number of items retrieved
+     */
+    default void onPaginated(String path, int pages, int items) {
+    }
+}
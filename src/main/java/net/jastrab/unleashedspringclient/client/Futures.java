@@ -0,0 +1,29 @@
+package net.jastrab.unleashedspringclient.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers for waiting on the futures used internally by the client
+ *
+ * @since 0.5.8
+ */
+final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Wait for a future to complete, rethrowing the original exception if it completed exceptionally
+     */
+    static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package net.jastrab.unleashedspringclient.client;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Log argument for a response body which is only decoded if the log statement is actually written
+ */
+final class LazyBody {
+    private final byte[] body;
+
+    LazyBody(byte[] body) {
+        this.body = body;
+    }
+
+    static String decode(byte[] body) {
+        return body == null ? "" : new String(body, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return decode(body);
+    }
+}
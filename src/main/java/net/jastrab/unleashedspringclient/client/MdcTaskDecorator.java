@@ -0,0 +1,47 @@
+package net.jastrab.unleashedspringclient.client;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Propagates the MDC of the submitting thread to a task, optionally followed by another decorator (e.g. for trace
+ * context). The MDC of the executing thread is restored when the task completes.
+ *
+ * @since 0.5.8
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+    private final TaskDecorator delegate;
+
+    public MdcTaskDecorator() {
+        this(null);
+    }
+
+    public MdcTaskDecorator(TaskDecorator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        final Runnable task = delegate == null ? runnable : delegate.decorate(runnable);
+        final Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            final Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                task.run();
+            } finally {
+                setContext(previous);
+            }
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package net.jastrab.unleashedspringclient.client;
+
+import net.jastrab.unleashed.api.http.PaginatedUnleashedResponse;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Iterator over the items of a paginated response which lazily requests pages as they are consumed.
+ * <p>
+ * The first page is requested on the first call to {@link #hasNext()}, after which up to {@code prefetch} subsequent
+ * pages are requested in the background. Only the page being consumed and the prefetched pages are held in memory,
+ * consumed pages are released for garbage collection.
+ *
+ * @param <T> type of the items in the paginated response
+ */
+class PageIterator<T> implements Iterator<T>, AutoCloseable {
+    private final Supplier<Optional<PaginatedUnleashedResponse<T>>> firstPageLoader;
+    private final IntFunction<List<T>> pageLoader;
+    private final Executor executor;
+    private final int prefetch;
+    private final Deque<CompletableFuture<List<T>>> prefetched = new ArrayDeque<>();
+
+    private Iterator<T> current = Collections.emptyIterator();
+    private int numberOfPages = -1;
+    private int nextPage = 2;
+    private boolean closed = false;
+
+    PageIterator(Supplier<Optional<PaginatedUnleashedResponse<T>>> firstPageLoader,
+                 IntFunction<List<T>> pageLoader,
+                 Executor executor,
+                 int prefetch) {
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("Prefetch must not be negative");
+        }
+        this.firstPageLoader = firstPageLoader;
+        this.pageLoader = pageLoader;
+        this.executor = executor;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (numberOfPages < 0) {
+            loadFirstPage();
+        }
+        while (!current.hasNext()) {
+            if (!prefetched.isEmpty()) {
+                current = Futures.join(prefetched.poll()).iterator();
+                fillPrefetch();
+            } else if (nextPage <= numberOfPages) {
+                current = pageLoader.apply(nextPage++).iterator();
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Stop iteration and cancel any outstanding prefetched pages
+     */
+    @Override
+    public void close() {
+        closed = true;
+        current = Collections.emptyIterator();
+        prefetched.forEach(page -> page.cancel(true));
+        prefetched.clear();
+    }
+
+    private void loadFirstPage() {
+        final Optional<PaginatedUnleashedResponse<T>> firstPage = firstPageLoader.get();
+        numberOfPages = firstPage.map(UnleashedClient::numberOfPages).orElse(0);
+        current = firstPage.map(PaginatedUnleashedResponse::getItems)
+                .map(List::iterator)
+                .orElse(Collections.emptyIterator());
+        fillPrefetch();
+    }
+
+    private void fillPrefetch() {
+        while (prefetched.size() < prefetch && nextPage <= numberOfPages) {
+            final int pageNumber = nextPage++;
+            prefetched.add(CompletableFuture.supplyAsync(() -> pageLoader.apply(pageNumber), executor));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package net.jastrab.unleashedspringclient.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.UnknownContentTypeException;
+
+import java.io.IOException;
+import java.io.PushbackInputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves and caches a Jackson {@link ObjectReader} per response type, so generic type resolution is done once per
+ * type rather than on every request.
+ * <p>
+ * The number of cached types is bounded, as response types are not guaranteed to be canonical instances; readers for
+ * types beyond the bound are resolved on each request.
+ * <p>
+ * Extractors behave as the message converter based extractor they replace: a body with an unsupported content type is
+ * rejected with an {@link UnknownContentTypeException} and a body which cannot be parsed with a
+ * {@link RestClientException}. Parse errors must not escape as {@link IOException}, which the {@code RestTemplate}
+ * would report as a (retryable) {@link org.springframework.web.client.ResourceAccessException}.
+ */
+class ResponseReaders {
+    static final int MAX_CACHED_TYPES = 256;
+    private final ObjectMapper mapper;
+    private final List<MediaType> mediaTypes;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /**
+     * @param mapper     mapper used to read response bodies
+     * @param mediaTypes content types which may be read, e.g. those supported by the message converter
+     */
+    ResponseReaders(ObjectMapper mapper, List<MediaType> mediaTypes) {
+        this.mapper = mapper;
+        this.mediaTypes = List.copyOf(mediaTypes);
+    }
+
+    ObjectReader readerFor(Type type) {
+        final ObjectReader reader = readers.get(type);
+        if (reader != null) {
+            return reader;
+        }
+        final ObjectReader resolved = mapper.readerFor(mapper.getTypeFactory().constructType(type));
+        if (readers.size() < MAX_CACHED_TYPES) {
+            readers.putIfAbsent(type, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Create an extractor which reads the response body with the cached reader for a type. An empty body is read as
+     * null.
+     */
+    <R> ResponseExtractor<ResponseEntity<R>> extractor(Type type) {
+        final ObjectReader reader = readerFor(type);
+        return response -> new ResponseEntity<>(read(reader, type, response), response.getHeaders(),
+                response.getStatusCode());
+    }
+
+    int size() {
+        return readers.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R read(ObjectReader reader, Type type, ClientHttpResponse response) throws IOException {
+        final PushbackInputStream body = new PushbackInputStream(response.getBody());
+        final int first = body.read();
+        if (first == -1) {
+            return null;
+        }
+        body.unread(first);
+
+        final MediaType contentType = contentType(response);
+        if (!isReadable(contentType)) {
+            throw new UnknownContentTypeException(type, contentType, response.getRawStatusCode(),
+                    response.getStatusText(), response.getHeaders(), StreamUtils.copyToByteArray(body));
+        }
+        try {
+            return (R) reader.readValue(body);
+        } catch (JsonProcessingException e) {
+            throw new RestClientException("Error while extracting response for type [" + type.getTypeName() +
+                    "] and content type [" + contentType + "]", e);
+        }
+    }
+
+    private boolean isReadable(MediaType contentType) {
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.includes(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MediaType contentType(ClientHttpResponse response) {
+        final MediaType contentType = response.getHeaders().getContentType();
+        return contentType == null ? MediaType.APPLICATION_OCTET_STREAM : contentType;
+    }
+}
@@ -0,0 +1,103 @@
+package net.jastrab.unleashedspringclient.client;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Generates Unleashed API request signatures (Base64 encoded HMAC-SHA256 of the query string).
+ * <p>
+ * Each thread reuses its own initialized {@link Mac} and output buffers, and recently computed signatures are kept in a
+ * bounded LRU cache keyed by query string, so repeated requests with the same query (e.g. successive pages of the same
+ * filter) are not signed again.
+ */
+public class SignatureCache {
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Signer> signers;
+    private final Map<String, String> cache;
+    private final int maxSize;
+
+    public SignatureCache(String apiKey) {
+        this(apiKey, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param apiKey  Unleashed API key used to sign requests
+     * @param maxSize maximum number of cached signatures, 0 disables caching
+     */
+    public SignatureCache(String apiKey, int maxSize) {
+        Objects.requireNonNull(apiKey, "API key cannot be null");
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative");
+        }
+        this.key = new SecretKeySpec(apiKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.signers = ThreadLocal.withInitial(() -> new Signer(this.key));
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > SignatureCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param queryString the (decoded) query string of the request, or an empty string
+     * @return Base64 encoded signature of the query string
+     */
+    public String getSignature(String queryString) {
+        if (maxSize == 0) {
+            return signers.get().sign(queryString);
+        }
+        synchronized (cache) {
+            final String cached = cache.get(queryString);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final String signature = signers.get().sign(queryString);
+        synchronized (cache) {
+            cache.put(queryString, signature);
+        }
+        return signature;
+    }
+
+    /**
+     * Per-thread signing state, reused between requests
+     */
+    private static class Signer {
+        private final Mac mac;
+        private final byte[] digest;
+        private final byte[] encoded;
+
+        Signer(SecretKeySpec key) {
+            try {
+                this.mac = Mac.getInstance(ALGORITHM);
+                this.mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialize " + ALGORITHM, e);
+            }
+            this.digest = new byte[mac.getMacLength()];
+            this.encoded = new byte[4 * ((digest.length + 2) / 3)];
+        }
+
+        String sign(String queryString) {
+            mac.update(queryString.getBytes(StandardCharsets.UTF_8));
+            try {
+                mac.doFinal(digest, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to compute request signature", e);
+            }
+            final int length = Base64.getEncoder().encode(digest, encoded);
+            return new String(encoded, 0, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
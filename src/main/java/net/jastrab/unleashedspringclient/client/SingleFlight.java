@@ -0,0 +1,64 @@
+package net.jastrab.unleashedspringclient.client;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent identical calls so that only one is executed and its result (or exception) is shared with
+ * every caller which arrived while it was in flight. Completed calls are not remembered, this is not a cache.
+ * <p>
+ * Callers sharing a call receive the same result instance, so results should not be mutated.
+ *
+ * @since 0.5.8
+ */
+public class SingleFlight {
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Execute a call, or wait for the identical call already in flight
+     *
+     * @param key  identity of the call
+     * @param call the call to execute if no identical call is in flight
+     * @param <T>  type of the result
+     * @return the result of the call
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> call) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        final CompletableFuture<Object> flight = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            shared.increment();
+            return (T) Futures.join(existing);
+        }
+        try {
+            final T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return number of calls which were served by sharing the result of a call already in flight
+     */
+    public long getSharedCount() {
+        return shared.sum();
+    }
+
+    /**
+     * @return number of distinct calls currently in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
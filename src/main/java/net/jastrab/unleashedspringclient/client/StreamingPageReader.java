@@ -0,0 +1,102 @@
+package net.jastrab.unleashedspringclient.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.function.Consumer;
+
+/**
+ * Reads a page of a paginated Unleashed response directly from the response stream, handing each element of
+ * {@code Items} to a consumer as soon as it has been parsed. Neither the page nor its list of items is materialized.
+ *
+ * @param <T> type of the items in the page
+ * @since 0.5.8
+ */
+public class StreamingPageReader<T> {
+    private static final String PAGINATION = "Pagination";
+    private static final String NUMBER_OF_PAGES = "NumberOfPages";
+    private static final String ITEMS = "Items";
+    private final ObjectMapper mapper;
+    private final ObjectReader itemReader;
+
+    public StreamingPageReader(ObjectMapper mapper, Type itemType) {
+        this(mapper, mapper.getTypeFactory().constructType(itemType));
+    }
+
+    StreamingPageReader(ObjectMapper mapper, JavaType itemType) {
+        this.mapper = mapper;
+        this.itemReader = mapper.readerFor(itemType);
+    }
+
+    /**
+     * Create a reader for the items of a paginated response type, e.g. PaginatedUnleashedResponse&lt;Product&gt;
+     */
+    static <T> StreamingPageReader<T> forResponseType(ObjectMapper mapper, Type responseType) {
+        final JavaType pageType = mapper.getTypeFactory().constructType(responseType);
+        if (pageType.containedTypeCount() != 1) {
+            throw new IllegalArgumentException("Not a paginated response type: " + responseType);
+        }
+        return new StreamingPageReader<>(mapper, pageType.containedType(0));
+    }
+
+    /**
+     * Read a page, passing each item to the consumer in order
+     *
+     * @return the pagination metadata of the page
+     * @throws IOException if the response could not be read or parsed
+     */
+    public Page read(InputStream body, Consumer<? super T> consumer) throws IOException {
+        int numberOfPages = 1;
+        int itemCount = 0;
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a paginated response object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                final JsonToken value = parser.nextToken();
+                if (PAGINATION.equals(field) && value == JsonToken.START_OBJECT) {
+                    final JsonNode pagination = mapper.readTree(parser);
+                    numberOfPages = pagination.path(NUMBER_OF_PAGES).asInt(1);
+                } else if (ITEMS.equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        final T item = itemReader.readValue(parser);
+                        consumer.accept(item);
+                        itemCount++;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return new Page(numberOfPages, itemCount);
+    }
+
+    /**
+     * Pagination metadata of a page which has been read
+     */
+    public static final class Page {
+        private final int numberOfPages;
+        private final int itemCount;
+
+        Page(int numberOfPages, int itemCount) {
+            this.numberOfPages = numberOfPages;
+            this.itemCount = itemCount;
+        }
+
+        public int getNumberOfPages() {
+            return numberOfPages;
+        }
+
+        public int getItemCount() {
+            return itemCount;
+        }
+    }
+}
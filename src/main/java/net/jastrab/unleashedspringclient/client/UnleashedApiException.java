@@ -0,0 +1,60 @@
+package net.jastrab.unleashedspringclient.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jastrab.unleashed.api.http.UnleashedError;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Thrown when the Unleashed API rejects a request with a client error (4xx), if the client is configured to throw
+ * client errors rather than return an empty result.
+ * <p>
+ * The response body is retained as received and is only decoded or parsed into an {@link UnleashedError} when it is
+ * requested.
+ *
+ * @since 0.5.8
+ */
+public class UnleashedApiException extends RuntimeException {
+    private final HttpStatus status;
+    private final transient byte[] body;
+    private final transient ObjectMapper mapper;
+    private transient Optional<UnleashedError> error;
+
+    UnleashedApiException(HttpStatus status, byte[] body, ObjectMapper mapper, Throwable cause) {
+        super("Unleashed request failed with status code: " + status, cause);
+        this.status = status;
+        this.body = body;
+        this.mapper = mapper;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the error returned by Unleashed, or empty if the response body is not a valid error object
+     */
+    public synchronized Optional<UnleashedError> getError() {
+        if (error == null) {
+            error = parse(body, mapper);
+        }
+        return error;
+    }
+
+    public String getResponseBodyAsString() {
+        return LazyBody.decode(body);
+    }
+
+    static Optional<UnleashedError> parse(byte[] body, ObjectMapper mapper) {
+        if (body == null || body.length == 0 || mapper == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(mapper.readValue(body, UnleashedError.class));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package net.jastrab.unleashedspringclient.client;
+
+import net.jastrab.unleashed.api.http.UnleashedConstants;
+import net.jastrab.unleashed.api.security.ApiCredential;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * WebClient counterpart of {@link UnleashedAuthInterceptor}, signs each request with the Unleashed API credential
+ */
+public class UnleashedAuthExchangeFilter implements ExchangeFilterFunction {
+
+    private final ApiCredential credential;
+    private final SignatureCache signatures;
+
+    public UnleashedAuthExchangeFilter(ApiCredential credential) {
+        this(credential, SignatureCache.DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param signatureCacheSize maximum number of request signatures cached by query string, 0 disables caching
+     */
+    public UnleashedAuthExchangeFilter(ApiCredential credential, int signatureCacheSize) {
+        Objects.requireNonNull(credential, "ApiCredential cannot be null");
+        this.credential = credential;
+        this.signatures = new SignatureCache(credential.getKey(), signatureCacheSize);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        final ClientRequest signedRequest = ClientRequest.from(request)
+                .headers(headers -> {
+                    headers.putIfAbsent(UnleashedConstants.ApiAuthId, List.of(credential.getId()));
+                    headers.putIfAbsent(UnleashedConstants.ApiAuthSignature, List.of(generateSignature(request.url())));
+                })
+                .build();
+
+        return next.exchange(signedRequest);
+    }
+
+    private String generateSignature(URI requestUri) {
+        final String queryString = requestUri.getQuery();
+        return signatures.getSignature(queryString == null ? "" : queryString);
+    }
+}
@@ -2,7 +2,6 @@ package net.jastrab.unleashedspringclient.client;
 
 import net.jastrab.unleashed.api.http.UnleashedConstants;
 import net.jastrab.unleashed.api.security.ApiCredential;
-import net.jastrab.unleashed.api.security.SignatureGenerator;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
@@ -12,15 +11,23 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 
 public class UnleashedAuthInterceptor implements ClientHttpRequestInterceptor {
 
     private final ApiCredential credential;
+    private final SignatureCache signatures;
 
     public UnleashedAuthInterceptor(ApiCredential credential) {
+        this(credential, SignatureCache.DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param signatureCacheSize maximum number of request signatures cached by query string, 0 disables caching
+     */
+    public UnleashedAuthInterceptor(ApiCredential credential, int signatureCacheSize) {
         Objects.requireNonNull(credential, "ApiCredential cannot be null");
         this.credential = credential;
+        this.signatures = new SignatureCache(credential.getKey(), signatureCacheSize);
     }
 
     @Override
@@ -32,7 +39,7 @@ public class UnleashedAuthInterceptor implements ClientHttpRequestInterceptor {
     }
 
     private String generateSignature(URI requestUri) {
-        final Optional<String> queryString = Optional.ofNullable(requestUri.getQuery());
-        return SignatureGenerator.getSignature(credential.getKey(), queryString.orElse(""));
+        final String queryString = requestUri.getQuery();
+        return signatures.getSignature(queryString == null ? "" : queryString);
     }
 }
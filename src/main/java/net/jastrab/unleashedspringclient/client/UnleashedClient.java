@@ -6,37 +6,130 @@ import net.jastrab.unleashed.api.GetProductRequest;
 import net.jastrab.unleashed.api.SimpleGetRequest;
 import net.jastrab.unleashed.api.http.*;
 import net.jastrab.unleashed.api.models.*;
+import net.jastrab.unleashedspringclient.cache.EntityCache;
+import net.jastrab.unleashedspringclient.resilience.CallNotPermittedException;
+import net.jastrab.unleashedspringclient.resilience.EndpointGuards;
+import net.jastrab.unleashedspringclient.retry.Retrier;
+import net.jastrab.unleashedspringclient.retry.RetryPolicy;
 import net.jastrab.unleashedspringclient.utils.ReflectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.*;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class UnleashedClient {
+@CacheConfig(cacheResolver = UnleashedClient.CACHE_RESOLVER)
+public class UnleashedClient implements AutoCloseable {
     private static final Logger LOGGER = LoggerFactory.getLogger(UnleashedClient.class);
+    /**
+     * Name of the {@link org.springframework.cache.interceptor.CacheResolver} bean used by the reference data getters
+     */
+    public static final String CACHE_RESOLVER = "unleashedCacheResolver";
+    public static final int DEFAULT_PAGE_PARALLELISM = 4;
+    public static final int DEFAULT_PAGE_PREFETCH = 2;
+    public static final int DEFAULT_BULK_INITIAL_CONCURRENCY = 2;
+    public static final int DEFAULT_BULK_MAX_CONCURRENCY = 8;
+    public static final Duration DEFAULT_BULK_LATENCY_THRESHOLD = Duration.ofSeconds(2);
+    /**
+     * The GUID of an existing product is never replaced by the (generated) GUID of the product it is merged with
+     */
+    private static final String GUID_PROPERTY = "Guid";
+    private static final String MODIFIED_SINCE_PARAMETER = "modifiedSince";
+    /**
+     * Query of the catalog scan used to look up large upsert batches, with the largest page size allowed by Unleashed
+     */
+    private static final String CATALOG_QUERY = "pageSize=1000";
+    /**
+     * Smallest upsert batch for which a catalog scan is considered, below which probing the size of the catalog costs
+     * more than it could save
+     */
+    private static final int CATALOG_SCAN_MIN_PRODUCTS = 10;
+    private static final DateTimeFormatter MODIFIED_SINCE_FORMAT = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss")
+            .withZone(ZoneOffset.UTC);
     private final String baseUri;
     private final RestTemplate restTemplate;
     private final ObjectMapper mapper;
+    private final ExecutorService pageExecutor;
+    private final ResponseReaders responseReaders;
+    private int pagePrefetch = DEFAULT_PAGE_PREFETCH;
+    private Retrier retrier = new Retrier(RetryPolicy.builder().build());
+    private EntityCache entityCache;
+    private SingleFlight singleFlight;
+    private boolean throwClientErrors = false;
+    private ExchangeObserver exchangeObserver = ExchangeObserver.NOOP;
+    private EndpointGuards endpointGuards;
+    private int asyncMaxThreads = AsyncExecutors.DEFAULT_MAX_THREADS;
+    private boolean asyncVirtualThreads = false;
+    private TaskDecorator asyncTaskDecorator;
+    private Executor asyncExecutor;
+    private ExecutorService ownedAsyncExecutor;
+    private boolean closed;
+    private int bulkInitialConcurrency = DEFAULT_BULK_INITIAL_CONCURRENCY;
+    private int bulkMaxConcurrency = DEFAULT_BULK_MAX_CONCURRENCY;
+    private Duration bulkLatencyThreshold = DEFAULT_BULK_LATENCY_THRESHOLD;
 
     public UnleashedClient(final String baseUri,
                            final RestTemplateBuilder builder,
                            final MappingJackson2HttpMessageConverter converter) {
+        this(baseUri, builder, converter, DEFAULT_PAGE_PARALLELISM);
+    }
+
+    /**
+     * @param pageParallelism maximum number of pages which will be fetched concurrently when retrieving all pages
+     *                        of a paginated response
+     * @since 0.5.8
+     */
+    public UnleashedClient(final String baseUri,
+                           final RestTemplateBuilder builder,
+                           final MappingJackson2HttpMessageConverter converter,
+                           final int pageParallelism) {
+        if (pageParallelism < 1) {
+            throw new IllegalArgumentException("Page parallelism must be at least 1");
+        }
         this.baseUri = baseUri;
         this.restTemplate = builder
                 .defaultHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
@@ -45,9 +138,18 @@ public class UnleashedClient {
                 .build();
 
         this.mapper = converter.getObjectMapper();
+        this.responseReaders = new ResponseReaders(this.mapper, converter.getSupportedMediaTypes());
+        this.pageExecutor = Executors.newFixedThreadPool(pageParallelism, new PageThreadFactory());
         LOGGER.debug("UnleashedClient successfully initialized");
     }
 
+    /**
+     * Request the first page of a paginated response from the Unleashed API, including its pagination metadata.
+     *
+     * @param request The PaginatedUnleashedRequest for the items
+     * @param <T>     type of the item that will be returned from the request
+     * @return the first page of the paginated response
+     */
     public <T> PaginatedUnleashedResponse<T> getItemsPaginated(PaginatedUnleashedRequest<T> request) {
         Objects.requireNonNull(request, "Request cannot be null");
 
@@ -58,48 +160,198 @@ public class UnleashedClient {
     }
 
     /**
-     * Request a list of items from Unleashed API. The response contains only the first page of items from a paginated
-     * response.
+     * Request a complete list of items from Unleashed API.
      * <p>
-     * If making a request for a large number of items (> 200) which may be paginated by unleashed,
-     * use {@link #getItemsPaginated(PaginatedUnleashedRequest)}
+     * The first page is requested to determine the number of pages in the response, the remaining pages are then
+     * fetched concurrently (bounded by the configured page parallelism) and merged in page order.
      *
      * @param request The PaginatedUnleashedRequest for the item
      * @param <T>     type of the item that will be returned from the request
      * @return List<T> containing the items retrieved from the API, potentially empty
+     * @throws IllegalStateException if any page after the first could not be retrieved
      */
     public <T> List<T> getItems(PaginatedUnleashedRequest<T> request) {
         Objects.requireNonNull(request, "Request cannot be null");
-        LOGGER.debug("Performing getItems request, path: {}, query: {}, type <{}>",
-                request.getPath(), request.getQuery(), request.getResponseType());
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Performing getItems request, path: {}, query: {}, type <{}>",
+                    request.getPath(), request.getQuery(), request.getResponseType());
+        }
 
-        final Optional<PaginatedUnleashedResponse<T>> response = this.exchange(request);
+        return getItems(request, request.getQuery(), this.throwClientErrors);
+    }
 
-        return response.map(PaginatedUnleashedResponse::getItems).orElse(new ArrayList<>());
+    /**
+     * Request a complete list of items from Unleashed API, see {@link #getItems}. Client error responses are always
+     * thrown, so unlike {@link #getItems} an empty list means that there are no items, which is required when the
+     * result replaces or advances local state.
+     *
+     * @param request The PaginatedUnleashedRequest for the item
+     * @param <T>     type of the item that will be returned from the request
+     * @return List<T> containing the items retrieved from the API, potentially empty
+     * @throws UnleashedApiException if the first page is answered with a client error
+     * @since 0.5.8
+     */
+    public <T> List<T> getItemsOrThrow(PaginatedUnleashedRequest<T> request) {
+        Objects.requireNonNull(request, "Request cannot be null");
+
+        return getItems(request, request.getQuery(), true);
+    }
+
+    /**
+     * Request the complete list of items from a paginated request which have been modified since the given instant,
+     * using the {@code modifiedSince} filter of the Unleashed API. See {@link #getItems}.
+     * <p>
+     * Client error responses are always thrown, as an empty list would otherwise be mistaken for no modifications.
+     *
+     * @param request       The PaginatedUnleashedRequest for the items
+     * @param modifiedSince only items modified after this instant are returned
+     * @param <T>           type of the item that will be returned from the request
+     * @return List<T> containing the modified items, potentially empty
+     * @throws UnleashedApiException if the first page is answered with a client error
+     * @since 0.5.8
+     */
+    public <T> List<T> getItemsModifiedSince(PaginatedUnleashedRequest<T> request, Instant modifiedSince) {
+        Objects.requireNonNull(request, "Request cannot be null");
+        Objects.requireNonNull(modifiedSince, "Modified since cannot be null");
+        final String filter = MODIFIED_SINCE_PARAMETER + "=" + MODIFIED_SINCE_FORMAT.format(modifiedSince);
+        final String query = request.getQuery() == null || request.getQuery().isEmpty()
+                ? filter
+                : request.getQuery() + "&" + filter;
+        LOGGER.debug("Performing getItemsModifiedSince request, path: {}, query: {}", request.getPath(), query);
+
+        return getItems(request, query, true);
+    }
+
+    /**
+     * Lazily iterate over the complete list of items from a paginated request.
+     * <p>
+     * Pages are requested as the iterator is consumed, with up to the configured number of pages prefetched in the
+     * background. Consumed pages are not retained, so memory use is bounded by the page size and prefetch depth rather
+     * than the total number of items.
+     *
+     * @param request The PaginatedUnleashedRequest for the items
+     * @param <T>     type of the item that will be returned from the request
+     * @return Iterator over the items retrieved from the API
+     * @since 0.5.8
+     */
+    public <T> Iterator<T> iterateItems(PaginatedUnleashedRequest<T> request) {
+        Objects.requireNonNull(request, "Request cannot be null");
+
+        return pageIterator(request);
+    }
+
+    /**
+     * Lazily stream the complete list of items from a paginated request, see {@link #iterateItems}.
+     * <p>
+     * Closing the stream cancels any pages which are still being prefetched.
+     *
+     * @param request The PaginatedUnleashedRequest for the items
+     * @param <T>     type of the item that will be returned from the request
+     * @return sequential Stream of the items retrieved from the API
+     * @since 0.5.8
+     */
+    public <T> Stream<T> streamItems(PaginatedUnleashedRequest<T> request) {
+        Objects.requireNonNull(request, "Request cannot be null");
+        final PageIterator<T> iterator = pageIterator(request);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Stream the complete list of items from a paginated request to a consumer.
+     * <p>
+     * Pages are requested sequentially and each item is parsed directly from the response stream and passed to the
+     * consumer as soon as it has been read, so neither a page nor its list of items is held in memory. Prefer this to
+     * {@link #getItems} for large result sets which are processed item by item.
+     *
+     * @param request  The PaginatedUnleashedRequest for the items
+     * @param consumer receives every item of the response in page order
+     * @param <T>      type of the item that will be returned from the request
+     * @return number of items passed to the consumer
+     * @throws IllegalStateException if any page after the first could not be retrieved
+     * @since 0.5.8
+     */
+    public <T> int forEachItem(PaginatedUnleashedRequest<T> request, Consumer<? super T> consumer) {
+        Objects.requireNonNull(request, "Request cannot be null");
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        final StreamingPageReader<T> reader = StreamingPageReader.forResponseType(mapper, request.getResponseType());
+
+        int itemCount = 0;
+        int numberOfPages = 1;
+        for (int pageNumber = 1; pageNumber <= numberOfPages; pageNumber++) {
+            final Optional<StreamingPageReader.Page> page = streamPage(request, reader, pageNumber, consumer);
+            if (page.isEmpty()) {
+                if (pageNumber == 1) {
+                    return 0;
+                }
+                throw new IllegalStateException(
+                        "Failed to retrieve page " + pageNumber + " for path: " + request.getPath());
+            }
+            numberOfPages = page.get().getNumberOfPages();
+            itemCount += page.get().getItemCount();
+        }
+        exchangeObserver.onPaginated(request.getPath(), numberOfPages, itemCount);
+        return itemCount;
     }
 
     /**
      * Get a single item from a request. Useful utility for requests which are only expected to return a single result.
      * <p>
-     * If more than one result is returned by the request, this method will return only the first
+     * If more than one result is returned by the request, this method will return only the first. Only the first page
+     * of a paginated response is requested.
+     * <p>
+     * If an {@link EntityCache} is configured, lookups of a single entity by code or GUID are served from the cache.
      *
      * @param request The PaginatedUnleashedRequest for the item
      * @param <T>     type of the item that will be returned by the request
      * @return Optional containing the first result from the request, or an empty optional if nothing was returned
      */
     public <T> Optional<T> getItem(PaginatedUnleashedRequest<T> request) {
-        return this.getItems(request).stream().findFirst();
+        Objects.requireNonNull(request, "Request cannot be null");
+        final EntityCache cache = this.entityCache;
+        if (cache != null) {
+            final Optional<EntityCache.Key> key = cache.keyFor(request);
+            if (key.isPresent()) {
+                return cache.get(key.get(), () -> firstItem(request));
+            }
+        }
+        return firstItem(request);
     }
 
     public <T extends CreatableResource> Optional<T> createItem(T item, Class<T> itemType) {
+        return createItem(item, itemType, this.throwClientErrors);
+    }
+
+    private <T extends CreatableResource> Optional<T> createItem(T item, Class<T> itemType, boolean throwClientErrors) {
         LOGGER.debug("Creating item {} of type {}", item, itemType.getName());
         UnleashedRequest<T> request = new CreateItemRequest<>(item, itemType);
 
-        return this.exchange(request);
+        final EntityCache cache = this.entityCache;
+        final Optional<T> result;
+        try {
+            result = this.exchange(request, request.getPath(), request.getQuery(), throwClientErrors);
+        } catch (RuntimeException e) {
+            if (cache != null) {
+                cache.invalidate(item);
+            }
+            throw e;
+        }
+        if (cache != null) {
+            if (result.isPresent()) {
+                cache.put(result.get());
+            } else {
+                cache.invalidate(item);
+            }
+        }
+        return result;
     }
 
     /**
      * Create or Update a Product
+     * <p>
+     * If the product exists and none of its properties would be changed by the update, no request is made to update it
+     * and the existing product is returned.
      *
      * @return the newly created or updated Product from the origin (with real GUID from unleashed)
      * @since 0.5.8
@@ -114,13 +366,135 @@ public class UnleashedClient {
             LOGGER.info("Retrieved existing product {}", original);
             if (update) {
                 LOGGER.info("Updating existing product with properties from {}", product);
-                ReflectUtils.updateEntity(original, product);
-                LOGGER.info("Updated product: {}", original);
+                final Set<String> changed = ReflectUtils.mergeEntity(original, product, GUID_PROPERTY);
+                if (changed.isEmpty()) {
+                    LOGGER.info("Product {} is unchanged, skipping update", product.getProductCode());
+                    return Optional.of(original);
+                }
+                LOGGER.info("Updated product properties {}: {}", changed, original);
             }
             return createItem(original, Product.class);
         }).orElseGet(() -> createItem(product, Product.class));
     }
 
+    /**
+     * Create or update a batch of products.
+     * <p>
+     * Existing products are looked up before any writes are made. Batches of at least
+     * {@value #CATALOG_SCAN_MIN_PRODUCTS} products request the first page of the product catalog, and if the catalog
+     * has fewer pages than the batch has products it is scanned page by page, otherwise each product code is looked up
+     * individually. Either way the lookups are bounded by the configured page parallelism and never take more requests
+     * than there are products. Products are then compared with their existing counterpart locally, and only products
+     * which are new or have changed are written, with the writes likewise bounded.
+     * <p>
+     * A product whose lookup fails is reported as failed without being written. If the same product code is submitted
+     * more than once only the last product with that code is upserted.
+     *
+     * @param products the products to create or update
+     * @return report of the outcome for each product code
+     * @since 0.5.8
+     */
+    public UpsertReport upsertProducts(Collection<Product> products) {
+        return upsertProducts(products, true);
+    }
+
+    /**
+     * Create or update a batch of products, see {@link #upsertProducts(Collection)}
+     *
+     * @param update if false existing products are left unchanged and only new products are created
+     * @since 0.5.8
+     */
+    public UpsertReport upsertProducts(Collection<Product> products, boolean update) {
+        Objects.requireNonNull(products, "Products cannot be null");
+        final Map<String, Product> productsByCode = new LinkedHashMap<>();
+        products.forEach(product -> productsByCode.put(product.getProductCode(), product));
+
+        final ProductLookups lookups = findProductsByCode(productsByCode.keySet());
+        LOGGER.info("Upserting {} products, {} already exist, {} lookups failed",
+                productsByCode.size(), lookups.existing.size(), lookups.failures.size());
+
+        final List<CompletableFuture<UpsertResult>> results = productsByCode.values().stream()
+                .map(product -> {
+                    final RuntimeException failure = lookups.failures.get(product.getProductCode());
+                    if (failure != null) {
+                        return CompletableFuture.completedFuture(
+                                UpsertResult.failed(product.getProductCode(), failure));
+                    }
+                    return CompletableFuture.supplyAsync(() -> upsert(product,
+                            lookups.existing.get(product.getProductCode()), update), pageExecutor);
+                })
+                .collect(Collectors.toList());
+
+        final UpsertReport report = new UpsertReport(results.stream()
+                .map(Futures::join)
+                .collect(Collectors.toList()));
+        LOGGER.info("Upsert complete: {}", report);
+        return report;
+    }
+
+    /**
+     * Asynchronous variant of {@link #getItems}, see {@link #setAsyncExecutor}
+     *
+     * @since 0.5.8
+     */
+    public <T> CompletableFuture<List<T>> getItemsAsync(PaginatedUnleashedRequest<T> request) {
+        return supplyAsync(() -> getItems(request));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getItem}, see {@link #setAsyncExecutor}
+     *
+     * @since 0.5.8
+     */
+    public <T> CompletableFuture<Optional<T>> getItemAsync(PaginatedUnleashedRequest<T> request) {
+        return supplyAsync(() -> getItem(request));
+    }
+
+    /**
+     * Asynchronous variant of {@link #createItem}, see {@link #setAsyncExecutor}
+     *
+     * @since 0.5.8
+     */
+    public <T extends CreatableResource> CompletableFuture<Optional<T>> createItemAsync(T item, Class<T> itemType) {
+        return supplyAsync(() -> createItem(item, itemType));
+    }
+
+    /**
+     * Create or update a collection of items concurrently. The number of concurrent writes adapts to the service: it
+     * increases while writes complete within the latency threshold, and is reduced when a write is slow or rejected
+     * with 429 or a server error. Items rejected with 429 are retried. Client errors are reported per item rather than
+     * logged, regardless of {@link #setThrowClientErrors}.
+     *
+     * @param items    the items to write
+     * @param itemType type of the items
+     * @param <T>      type of the items
+     * @return handle to follow or cancel the operation, completed with one result per item in the order given
+     * @see #setBulkConcurrency
+     * @since 0.5.8
+     */
+    public <T extends CreatableResource> BulkOperation<T> createItems(Collection<T> items, Class<T> itemType) {
+        Objects.requireNonNull(items, "Items cannot be null");
+        final AimdLimit limit;
+        synchronized (this) {
+            limit = new AimdLimit(bulkInitialConcurrency, 1, bulkMaxConcurrency, bulkLatencyThreshold, 0.5);
+        }
+        LOGGER.debug("Writing {} items of type {}", items.size(), itemType.getName());
+        return new BulkWriter<T>(List.copyOf(items),
+                item -> createItem(item, itemType, true),
+                AsyncExecutors.decorate(asyncExecutor(), new MdcTaskDecorator(asyncTaskDecorator)),
+                new BulkOperation<>(items.size(), limit))
+                .start();
+    }
+
+    /**
+     * Asynchronous variant of {@link #upsertProduct}, see {@link #setAsyncExecutor}
+     *
+     * @since 0.5.8
+     */
+    public CompletableFuture<Optional<Product>> upsertProductAsync(Product product, boolean update) {
+        return supplyAsync(() -> upsertProduct(product, update));
+    }
+
     @Cacheable("attribute_sets")
     public List<AttributeSet> getAttributeSets() {
         return getItems(new SimpleGetRequest<>(AttributeSet.class));
@@ -146,52 +520,582 @@ public class UnleashedClient {
         return getItems(new SimpleGetRequest<>(CustomerType.class));
     }
 
-    private <T, R> Optional<R> exchange(UnleashedRequest<T> request) {
+    /**
+     * Set the number of pages requested ahead of the consumer by {@link #iterateItems} and {@link #streamItems}.
+     * A value of 0 disables background prefetching.
+     *
+     * @since 0.5.8
+     */
+    public void setPagePrefetch(int pagePrefetch) {
+        if (pagePrefetch < 0) {
+            throw new IllegalArgumentException("Page prefetch must not be negative");
+        }
+        this.pagePrefetch = pagePrefetch;
+    }
+
+    /**
+     * Set the policy used to retry transient failures. By default GET requests are retried on 429, 502, 503 and 504
+     * responses and on I/O errors.
+     *
+     * @since 0.5.8
+     */
+    public void setRetrier(Retrier retrier) {
+        this.retrier = Objects.requireNonNull(retrier, "Retrier cannot be null");
+    }
+
+    public Retrier getRetrier() {
+        return retrier;
+    }
+
+    /**
+     * Enable or disable coalescing of concurrent identical GET requests (disabled by default). When enabled, GET
+     * requests for the same URI and response type which are in flight at the same time share a single response.
+     * <p>
+     * Coalesced callers receive the same response instances, so callers must not modify the returned items (e.g.
+     * {@link #upsertProduct} merges updates into the product it retrieves and is unsafe to call concurrently for the
+     * same product code with coalescing enabled).
+     *
+     * @since 0.5.8
+     */
+    public void setRequestCoalescing(boolean requestCoalescing) {
+        this.singleFlight = requestCoalescing ? new SingleFlight() : null;
+    }
+
+    public Optional<SingleFlight> getSingleFlight() {
+        return Optional.ofNullable(singleFlight);
+    }
+
+    /**
+     * Throw an {@link UnleashedApiException}, carrying the parsed {@link UnleashedError}, when a request fails with a
+     * client error (4xx). By default client errors are logged and result in an empty result.
+     *
+     * @since 0.5.8
+     */
+    public void setThrowClientErrors(boolean throwClientErrors) {
+        this.throwClientErrors = throwClientErrors;
+    }
+
+    /**
+     * Configure the executor created for asynchronous requests when none has been set with {@link #setAsyncExecutor}.
+     * By default a pool of up to {@value AsyncExecutors#DEFAULT_MAX_THREADS} threads is used. Virtual threads may be
+     * used instead if the JDK provides them, at the cost of request signing state no longer being reused between
+     * requests, as it is held per thread.
+     *
+     * @since 0.5.8
+     */
+    public synchronized void setAsyncThreads(int maxThreads, boolean virtualThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("Max threads must be at least 1");
+        }
+        this.asyncMaxThreads = maxThreads;
+        this.asyncVirtualThreads = virtualThreads;
+    }
+
+    /**
+     * Set the executor on which asynchronous requests are run. The executor is not shut down when the client is closed.
+     * The MDC of the calling thread is propagated to every asynchronous request.
+     * <p>
+     * If the client had already created its own executor, that executor is shut down once the requests already
+     * submitted to it have completed.
+     *
+     * @since 0.5.8
+     */
+    public synchronized void setAsyncExecutor(Executor asyncExecutor) {
+        Objects.requireNonNull(asyncExecutor, "Executor cannot be null");
+        if (this.ownedAsyncExecutor != null) {
+            this.ownedAsyncExecutor.shutdown();
+            this.ownedAsyncExecutor = null;
+        }
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Configure the adaptive concurrency of {@link #createItems}. Each bulk operation starts with
+     * {@code initialConcurrency} concurrent writes, which grows by one for every window of healthy writes up to
+     * {@code maxConcurrency}, and is halved when a write takes longer than {@code latencyThreshold} or is rejected.
+     *
+     * @since 0.5.8
+     */
+    public synchronized void setBulkConcurrency(int initialConcurrency, int maxConcurrency, Duration latencyThreshold) {
+        if (initialConcurrency < 1 || maxConcurrency < initialConcurrency) {
+            throw new IllegalArgumentException("Concurrency must satisfy 1 <= initial <= max");
+        }
+        this.bulkInitialConcurrency = initialConcurrency;
+        this.bulkMaxConcurrency = maxConcurrency;
+        this.bulkLatencyThreshold = Objects.requireNonNull(latencyThreshold, "Latency threshold cannot be null");
+    }
+
+    /**
+     * Set a decorator applied to every asynchronous request, e.g. to propagate trace context
+     *
+     * @since 0.5.8
+     */
+    public synchronized void setAsyncTaskDecorator(TaskDecorator asyncTaskDecorator) {
+        this.asyncTaskDecorator = asyncTaskDecorator;
+    }
+
+    /**
+     * Set the circuit breakers and bulkheads applied per endpoint, or null to disable them (the default). Requests
+     * rejected by a guard fail immediately with a {@link CallNotPermittedException}. Each attempt of a retried request
+     * is a separate call, and an attempt which is rejected is not retried.
+     *
+     * @since 0.5.8
+     */
+    public void setEndpointGuards(EndpointGuards endpointGuards) {
+        this.endpointGuards = endpointGuards;
+    }
+
+    public Optional<EndpointGuards> getEndpointGuards() {
+        return Optional.ofNullable(endpointGuards);
+    }
+
+    /**
+     * Set the observer notified of the outcome of every request, e.g. to record metrics
+     *
+     * @since 0.5.8
+     */
+    public void setExchangeObserver(ExchangeObserver exchangeObserver) {
+        this.exchangeObserver = Objects.requireNonNull(exchangeObserver, "ExchangeObserver cannot be null");
+    }
+
+    /**
+     * Set the cache used for single entity lookups by {@link #getItem}, or null to disable entity caching (the default).
+     * Entities written through {@link #createItem} are refreshed in the cache.
+     *
+     * @since 0.5.8
+     */
+    public void setEntityCache(EntityCache entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    public Optional<EntityCache> getEntityCache() {
+        return Optional.ofNullable(entityCache);
+    }
+
+    /**
+     * Shut down the executors used for concurrent page retrieval and, unless one was provided, asynchronous requests.
+     * Asynchronous requests made after the client is closed fail with an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        this.pageExecutor.shutdownNow();
+        synchronized (this) {
+            this.closed = true;
+            if (this.ownedAsyncExecutor != null) {
+                this.ownedAsyncExecutor.shutdownNow();
+                this.ownedAsyncExecutor = null;
+            }
+        }
+    }
+
+    private <U> CompletableFuture<U> supplyAsync(Supplier<U> call) {
+        return CompletableFuture.supplyAsync(call, AsyncExecutors.decorate(asyncExecutor(),
+                new MdcTaskDecorator(asyncTaskDecorator)));
+    }
+
+    private synchronized Executor asyncExecutor() {
+        if (this.closed) {
+            throw new IllegalStateException("Client is closed");
+        }
+        if (this.asyncExecutor == null) {
+            this.ownedAsyncExecutor = AsyncExecutors.newExecutor(asyncMaxThreads, asyncVirtualThreads);
+            this.asyncExecutor = this.ownedAsyncExecutor;
+        }
+        return this.asyncExecutor;
+    }
+
+    private <T> List<T> getItems(PaginatedUnleashedRequest<T> request, String query, boolean throwClientErrors) {
+        final Optional<PaginatedUnleashedResponse<T>> response = this.exchange(request, request.getPath(), query,
+                throwClientErrors);
+
+        return response.map(firstPage -> fetchRemainingPages(request, query, firstPage)).orElse(new ArrayList<>());
+    }
+
+    private <T> List<T> fetchRemainingPages(PaginatedUnleashedRequest<T> request,
+                                            String query,
+                                            PaginatedUnleashedResponse<T> firstPage) {
+        final List<T> items = new ArrayList<>(firstPage.getItems());
+        final int numberOfPages = numberOfPages(firstPage);
+        if (numberOfPages <= 1) {
+            exchangeObserver.onPaginated(request.getPath(), 1, items.size());
+            return items;
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Fetching {} additional pages for path: {}", numberOfPages - 1, request.getPath());
+        }
+
+        final List<CompletableFuture<List<T>>> pages = new ArrayList<>(numberOfPages - 1);
+        for (int page = 2; page <= numberOfPages; page++) {
+            final int pageNumber = page;
+            pages.add(CompletableFuture.supplyAsync(() -> getPage(request, query, pageNumber), pageExecutor));
+        }
+
+        try {
+            pages.forEach(page -> items.addAll(Futures.join(page)));
+        } catch (RuntimeException e) {
+            pages.forEach(page -> page.cancel(true));
+            throw e;
+        }
+        exchangeObserver.onPaginated(request.getPath(), numberOfPages, items.size());
+        return items;
+    }
+
+    private <T> Optional<T> firstItem(PaginatedUnleashedRequest<T> request) {
+        final Optional<PaginatedUnleashedResponse<T>> response = this.exchange(request);
+
+        return response.map(PaginatedUnleashedResponse::getItems).flatMap(items -> items.stream().findFirst());
+    }
+
+    private UpsertResult upsert(Product product, Product original, boolean update) {
+        final String productCode = product.getProductCode();
+        if (productCode == null) {
+            return UpsertResult.failed(null, new IllegalArgumentException("Product code cannot be null"));
+        }
+        try {
+            if (original == null) {
+                return createItem(product, Product.class)
+                        .map(result -> UpsertResult.created(productCode, result))
+                        .orElseGet(() -> UpsertResult.failed(productCode, null));
+            }
+            if (!update) {
+                return UpsertResult.unchanged(productCode, original);
+            }
+            final Set<String> changed = ReflectUtils.mergeEntity(original, product, GUID_PROPERTY);
+            if (changed.isEmpty()) {
+                LOGGER.debug("Product {} is unchanged, skipping update", productCode);
+                return UpsertResult.unchanged(productCode, original);
+            }
+            LOGGER.debug("Updating product {} properties {}", productCode, changed);
+            return createItem(original, Product.class)
+                    .map(result -> UpsertResult.updated(productCode, result, changed))
+                    .orElseGet(() -> UpsertResult.failed(productCode, null));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to upsert product {}", productCode, e);
+            return UpsertResult.failed(productCode, e);
+        }
+    }
+
+    /**
+     * Look up existing products by product code, either by scanning the catalog or by looking up each code, whichever
+     * takes fewer requests. A failed scan falls back to looking up each code. Requests run on the page executor, so at
+     * most {@code pageParallelism} are in flight at once.
+     */
+    private ProductLookups findProductsByCode(Set<String> productCodes) {
+        final Set<String> codes = productCodes.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (codes.size() >= CATALOG_SCAN_MIN_PRODUCTS) {
+            try {
+                final Optional<ProductLookups> scanned = scanCatalog(codes);
+                if (scanned.isPresent()) {
+                    return scanned.get();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Product catalog scan failed, looking up {} products by code: {}",
+                        codes.size(), e.getMessage());
+            }
+        }
+
+        final Map<String, CompletableFuture<Optional<Product>>> lookups = new LinkedHashMap<>();
+        codes.forEach(productCode -> lookups.put(productCode,
+                CompletableFuture.supplyAsync(() -> findProductByCode(productCode), pageExecutor)));
+        final ProductLookups result = new ProductLookups();
+        lookups.forEach((productCode, lookup) -> {
+            try {
+                Futures.join(lookup).ifPresent(product -> result.existing.put(productCode, product));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to look up product {}: {}", productCode, e.getMessage());
+                result.failures.put(productCode, e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Find the products with the given codes in the product catalog, keeping only the matching products of each page
+     *
+     * @return the products found, or empty if the catalog has as many pages as there are codes
+     */
+    private Optional<ProductLookups> scanCatalog(Set<String> productCodes) {
+        final PaginatedUnleashedRequest<Product> catalog = GetProductRequest.builder().build();
+        final Optional<PaginatedUnleashedResponse<Product>> response = this.exchange(catalog, catalog.getPath(),
+                CATALOG_QUERY, true);
+        final PaginatedUnleashedResponse<Product> firstPage = response.orElseThrow();
+        final int numberOfPages = numberOfPages(firstPage);
+        if (numberOfPages >= productCodes.size()) {
+            return Optional.empty();
+        }
+        LOGGER.debug("Scanning {} catalog pages for {} products", numberOfPages, productCodes.size());
+
+        final List<CompletableFuture<List<Product>>> pages = new ArrayList<>(numberOfPages);
+        pages.add(CompletableFuture.completedFuture(matching(firstPage.getItems(), productCodes)));
+        for (int page = 2; page <= numberOfPages; page++) {
+            final int pageNumber = page;
+            pages.add(CompletableFuture.supplyAsync(
+                    () -> matching(getPage(catalog, CATALOG_QUERY, pageNumber), productCodes), pageExecutor));
+        }
+        final ProductLookups result = new ProductLookups();
+        try {
+            pages.forEach(page -> Futures.join(page)
+                    .forEach(product -> result.existing.putIfAbsent(product.getProductCode(), product)));
+        } catch (RuntimeException e) {
+            pages.forEach(page -> page.cancel(true));
+            throw e;
+        }
+        return Optional.of(result);
+    }
+
+    private static List<Product> matching(List<Product> products, Set<String> productCodes) {
+        return products.stream()
+                .filter(product -> productCodes.contains(product.getProductCode()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Find the product with exactly the given code. Only the first page of results is searched, so this may safely be
+     * called from the page executor. Client errors are thrown, as they do not mean the product does not exist.
+     */
+    private Optional<Product> findProductByCode(String productCode) {
+        final PaginatedUnleashedRequest<Product> request = GetProductRequest.builder()
+                .productCode(productCode)
+                .build();
+        final Optional<PaginatedUnleashedResponse<Product>> response = this.exchange(request, request.getPath(),
+                request.getQuery(), true);
+
+        return response.map(PaginatedUnleashedResponse::getItems)
+                .flatMap(items -> items.stream()
+                        .filter(product -> productCode.equals(product.getProductCode()))
+                        .findFirst());
+    }
+
+    private <T> PageIterator<T> pageIterator(PaginatedUnleashedRequest<T> request) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Iterating items for path: {}, query: {}, prefetch: {}",
+                    request.getPath(), request.getQuery(), pagePrefetch);
+        }
+
+        return new PageIterator<>(() -> this.exchange(request),
+                pageNumber -> getPage(request, request.getQuery(), pageNumber),
+                pageExecutor,
+                pagePrefetch);
+    }
+
+    private <T> List<T> getPage(PaginatedUnleashedRequest<T> request, String query, int pageNumber) {
+        final Optional<PaginatedUnleashedResponse<T>> response = this.exchange(request,
+                pagePath(request.getPath(), pageNumber), query);
+
+        return response.map(PaginatedUnleashedResponse::getItems)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Failed to retrieve page " + pageNumber + " for path: " + request.getPath()));
+    }
+
+    static int numberOfPages(PaginatedUnleashedResponse<?> response) {
+        return Optional.ofNullable(response.getPagination())
+                .map(pagination -> pagination.getNumberOfPages())
+                .orElse(1);
+    }
+
+    /**
+     * Resolve the path for a specific page of a paginated resource, e.g. /Products/ -> /Products/Page/2
+     */
+    static String pagePath(String path, int pageNumber) {
+        if (pageNumber <= 1) {
+            return path;
+        }
+        final String base = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        return base + "/Page/" + pageNumber;
+    }
+
+    /**
+     * Read a page of a paginated response from the response stream. A page is only retried if none of its items have
+     * been passed to the consumer.
+     */
+    private <T> Optional<StreamingPageReader.Page> streamPage(PaginatedUnleashedRequest<T> request,
+                                                              StreamingPageReader<T> reader,
+                                                              int pageNumber,
+                                                              Consumer<? super T> consumer) {
         final HttpMethod method = HttpMethod.valueOf(request.getHttpMethod().name());
-        LOGGER.debug("Request method: {}", method);
-        final HttpHeaders headers = new HttpHeaders(new LinkedMultiValueMap<>(request.getHeaders()));
-        LOGGER.debug("Request headers: {}", headers);
+        final RequestCallback requestCallback = this.restTemplate.httpEntityCallback(requestEntity(request));
+        final URI requestUri = requestUri(pagePath(request.getPath(), pageNumber), request.getQuery());
+        LOGGER.debug("Streaming request URI: {}", requestUri);
+
+        final AtomicBoolean consumed = new AtomicBoolean();
+        final Consumer<T> tracking = item -> {
+            consumed.set(true);
+            consumer.accept(item);
+        };
+        final AtomicInteger responseStatus = new AtomicInteger(ExchangeObserver.NO_RESPONSE);
+        final ResponseExtractor<StreamingPageReader.Page> responseExtractor = response -> {
+            responseStatus.set(response.getRawStatusCode());
+            try {
+                return reader.read(response.getBody(), tracking);
+            } catch (IOException e) {
+                if (consumed.get()) {
+                    throw new UncheckedIOException("Response stream failed after items were consumed", e);
+                }
+                throw e;
+            }
+        };
+        final AtomicInteger attempts = new AtomicInteger();
+        final long start = System.nanoTime();
+        int status = ExchangeObserver.NO_RESPONSE;
+        boolean sent = true;
+        try {
+            final StreamingPageReader.Page page = this.retrier.execute(method, guarded(request.getPath(),
+                    () -> attempted(attempts, () -> this.restTemplate.execute(requestUri, method, requestCallback,
+                            responseExtractor))));
+            status = responseStatus.get();
+            return Optional.ofNullable(page);
+        } catch (HttpClientErrorException e) {
+            status = e.getRawStatusCode();
+            return clientError(e, this.throwClientErrors);
+        } catch (RestClientResponseException e) {
+            status = e.getRawStatusCode();
+            throw e;
+        } catch (CallNotPermittedException e) {
+            sent = attempts.get() > 0;
+            throw e;
+        } finally {
+            if (sent) {
+                exchangeObserver.onExchange(method, request.getPath(), status, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Route a single attempt of a call through the guard of its endpoint, if circuit breakers or bulkheads are
+     * configured. The guard is applied inside the retrier, so a bulkhead permit is not held while backing off between
+     * attempts and the circuit breaker records the outcome of each attempt. Rejected attempts are not retried.
+     */
+    private <U> Supplier<U> guarded(String path, Supplier<U> call) {
+        final EndpointGuards guards = this.endpointGuards;
+        return guards == null ? call : () -> guards.execute(path, call);
+    }
+
+    /**
+     * Count the attempts of a call which were permitted by its guard, so an exchange whose retry was rejected is still
+     * reported
+     */
+    private static <U> U attempted(AtomicInteger attempts, Supplier<U> attempt) {
+        attempts.incrementAndGet();
+        return attempt.get();
+    }
 
-        final URI requestUri = UriComponentsBuilder
+    /**
+     * Build the entity of a request, without copying its headers if it has none
+     */
+    private static HttpEntity<?> requestEntity(UnleashedRequest<?> request) {
+        final Map<String, List<String>> requestHeaders = request.getHeaders();
+        final Object body = request.getRequestBody();
+        if (requestHeaders == null || requestHeaders.isEmpty()) {
+            return body == null ? HttpEntity.EMPTY : new HttpEntity<>(body);
+        }
+        return new HttpEntity<>(body, new HttpHeaders(new LinkedMultiValueMap<>(requestHeaders)));
+    }
+
+    private URI requestUri(String path, String query) {
+        return UriComponentsBuilder
                 .fromHttpUrl(this.baseUri)
-                .path(request.getPath())
-                .query(request.getQuery())
+                .path(path)
+                .query(query)
                 .build()
                 .toUri();
-        LOGGER.debug("Request URI: {}", requestUri);
+    }
+
+    private <T, R> Optional<R> exchange(UnleashedRequest<T> request) {
+        return this.exchange(request, request.getPath(), request.getQuery());
+    }
+
+    private <T, R> Optional<R> exchange(UnleashedRequest<T> request, String path, String query) {
+        return this.exchange(request, path, query, this.throwClientErrors);
+    }
+
+    private <T, R> Optional<R> exchange(UnleashedRequest<T> request,
+                                        String path,
+                                        String query,
+                                        boolean throwClientErrors) {
+        final HttpMethod method = HttpMethod.valueOf(request.getHttpMethod().name());
+        final HttpEntity<?> entity = requestEntity(request);
+        final URI requestUri = requestUri(path, query);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Request method: {}, URI: {}, headers: {}", method, requestUri, entity.getHeaders());
+        }
+
+        final RequestCallback requestCallback = this.restTemplate.httpEntityCallback(entity);
+        final ResponseExtractor<ResponseEntity<R>> responseExtractor =
+                this.responseReaders.extractor(request.getResponseType());
+        final AtomicInteger attempts = new AtomicInteger();
+        final Supplier<ResponseEntity<R>> call = () -> this.retrier.execute(method, guarded(request.getPath(),
+                () -> attempted(attempts, () -> this.restTemplate.execute(requestUri, method, requestCallback,
+                        responseExtractor))));
 
+        final long start = System.nanoTime();
+        int status = ExchangeObserver.NO_RESPONSE;
+        boolean sent = true;
         try {
-            final ResponseEntity<R> response = this.restTemplate.exchange(
-                    requestUri,
-                    method,
-                    new HttpEntity<>(request.getRequestBody(), headers),
-                    new ParameterizedTypeReference<>() {
-                        @Override
-                        public Type getType() {
-                            return request.getResponseType();
-                        }
-                    }
-            );
-            LOGGER.debug("Response status code: {}", response.getStatusCode());
+            final SingleFlight flight = this.singleFlight;
+            final ResponseEntity<R> response = flight != null && method == HttpMethod.GET
+                    ? flight.execute(List.of(requestUri, request.getResponseType()), call)
+                    : call.get();
+            status = response.getStatusCodeValue();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Response status code: {}", response.getStatusCode());
+            }
             return Optional.ofNullable(response.getBody());
         } catch (HttpClientErrorException e) {
-            LOGGER.error("Request failed with status code: {}, body: {}", e.getStatusCode(), e.getResponseBodyAsString());
-
-            UnleashedError error = parseError(e.getResponseBodyAsByteArray()).orElse(new UnleashedError(List.of()));
-            LOGGER.debug("Parsed error: {}", error);
+            status = e.getRawStatusCode();
+            return clientError(e, throwClientErrors);
+        } catch (RestClientResponseException e) {
+            status = e.getRawStatusCode();
+            throw e;
+        } catch (CallNotPermittedException e) {
+            sent = attempts.get() > 0;
+            throw e;
+        } finally {
+            if (sent) {
+                exchangeObserver.onExchange(method, request.getPath(), status, System.nanoTime() - start);
+            }
+        }
+    }
 
+    /**
+     * Handle a client error response, either throwing an {@link UnleashedApiException} or logging it and returning an
+     * empty result. The response body is not copied, and is only decoded or parsed if it is logged.
+     */
+    private <R> Optional<R> clientError(HttpClientErrorException e, boolean throwClientErrors) {
+        final byte[] body = e.getResponseBodyAsByteArray();
+        if (throwClientErrors) {
+            LOGGER.debug("Request failed with status code: {}", e.getStatusCode());
+            throw new UnleashedApiException(e.getStatusCode(), body, mapper, e);
+        }
+        LOGGER.error("Request failed with status code: {}, body: {}", e.getStatusCode(), new LazyBody(body));
+        if (LOGGER.isDebugEnabled()) {
+            final Optional<UnleashedError> error = UnleashedApiException.parse(body, mapper);
+            if (error.isEmpty()) {
+                LOGGER.warn("Failed to parse error object: {}", new LazyBody(body));
+            }
+            LOGGER.debug("Parsed error: {}", error.orElse(new UnleashedError(List.of())));
         }
         return Optional.empty();
     }
 
-    private Optional<UnleashedError> parseError(byte[] responseBody) {
+    /**
+     * Existing products and failed lookups of an upsert batch, by product code
+     */
+    private static final class ProductLookups {
+        private final Map<String, Product> existing = new HashMap<>();
+        private final Map<String, RuntimeException> failures = new HashMap<>();
+    }
+
+    private static class PageThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
 
-        try {
-            return Optional.of(mapper.readValue(responseBody, UnleashedError.class));
-        } catch (IOException e) {
-            LOGGER.warn("Failed to parse error object: {}", new String(responseBody));
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "unleashed-page-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
         }
-        return Optional.empty();
     }
 
 }
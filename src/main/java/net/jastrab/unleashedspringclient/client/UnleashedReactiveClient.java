@@ -0,0 +1,173 @@
+package net.jastrab.unleashedspringclient.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jastrab.unleashed.api.CreateItemRequest;
+import net.jastrab.unleashed.api.http.*;
+import net.jastrab.unleashed.api.models.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Non-blocking counterpart of {@link UnleashedClient} built on {@link WebClient}.
+ * <p>
+ * Client errors (4xx) are logged and result in an empty publisher, matching the behaviour of {@link UnleashedClient}.
+ *
+ * @since 0.5.8
+ */
+public class UnleashedReactiveClient {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnleashedReactiveClient.class);
+    /**
+     * Maximum size of a buffered response body, large enough for a full page of products
+     */
+    public static final int MAX_IN_MEMORY_SIZE = 16 * 1024 * 1024;
+    private final String baseUri;
+    private final WebClient webClient;
+    private final ObjectMapper mapper;
+    private final int pageParallelism;
+
+    public UnleashedReactiveClient(final String baseUri,
+                                   final WebClient.Builder builder,
+                                   final ObjectMapper mapper,
+                                   final int pageParallelism) {
+        if (pageParallelism < 1) {
+            throw new IllegalArgumentException("Page parallelism must be at least 1");
+        }
+        this.baseUri = baseUri;
+        this.mapper = mapper;
+        this.pageParallelism = pageParallelism;
+        this.webClient = builder
+                .defaultHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
+                .exchangeStrategies(ExchangeStrategies.builder()
+                        .codecs(codecs -> {
+                            codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(mapper));
+                            codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(mapper));
+                            codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE);
+                        })
+                        .build())
+                .build();
+        LOGGER.debug("UnleashedReactiveClient successfully initialized");
+    }
+
+    /**
+     * Request the first page of a paginated response, including its pagination metadata
+     *
+     * @param request The PaginatedUnleashedRequest for the items
+     * @param <T>     type of the item that will be returned from the request
+     * @return Mono emitting the first page, or empty if the request failed with a client error
+     */
+    public <T> Mono<PaginatedUnleashedResponse<T>> getItemsPaginated(PaginatedUnleashedRequest<T> request) {
+        Objects.requireNonNull(request, "Request cannot be null");
+
+        return getPage(request, 1);
+    }
+
+    /**
+     * Request every page of a paginated response. Pages after the first are requested concurrently (bounded by the
+     * configured page parallelism) and emitted in page order.
+     *
+     * @param request The PaginatedUnleashedRequest for the items
+     * @param <T>     type of the item that will be returned from the request
+     * @return Flux emitting each page of the response in order
+     */
+    public <T> Flux<PaginatedUnleashedResponse<T>> getPages(PaginatedUnleashedRequest<T> request) {
+        Objects.requireNonNull(request, "Request cannot be null");
+
+        return getPage(request, 1).flatMapMany(firstPage -> {
+            final int numberOfPages = UnleashedClient.numberOfPages(firstPage);
+            LOGGER.debug("Fetching {} additional pages for path: {}", Math.max(0, numberOfPages - 1), request.getPath());
+
+            final Flux<PaginatedUnleashedResponse<T>> remainingPages = Flux.range(2, Math.max(0, numberOfPages - 1))
+                    .flatMapSequential(pageNumber -> getPage(request, pageNumber)
+                            .switchIfEmpty(Mono.error(() -> new IllegalStateException(
+                                    "Failed to retrieve page " + pageNumber + " for path: " + request.getPath()))),
+                            pageParallelism);
+
+            return Flux.just(firstPage).concatWith(remainingPages);
+        });
+    }
+
+    /**
+     * Request the complete list of items from a paginated request, see {@link #getPages}
+     *
+     * @param request The PaginatedUnleashedRequest for the items
+     * @param <T>     type of the item that will be returned from the request
+     * @return Flux emitting every item of the response in page order
+     */
+    public <T> Flux<T> getItems(PaginatedUnleashedRequest<T> request) {
+        return getPages(request).concatMapIterable(PaginatedUnleashedResponse::getItems);
+    }
+
+    /**
+     * Get a single item from a request, only the first page of a paginated response is requested
+     *
+     * @param request The PaginatedUnleashedRequest for the item
+     * @param <T>     type of the item that will be returned by the request
+     * @return Mono emitting the first result from the request, or empty if nothing was returned
+     */
+    public <T> Mono<T> getItem(PaginatedUnleashedRequest<T> request) {
+        return getItemsPaginated(request)
+                .flatMapIterable(PaginatedUnleashedResponse::getItems)
+                .next();
+    }
+
+    public <T extends CreatableResource> Mono<T> createItem(T item, Class<T> itemType) {
+        LOGGER.debug("Creating item {} of type {}", item, itemType.getName());
+        final UnleashedRequest<T> request = new CreateItemRequest<>(item, itemType);
+
+        return exchange(request, request.getPath());
+    }
+
+    private <T> Mono<PaginatedUnleashedResponse<T>> getPage(PaginatedUnleashedRequest<T> request, int pageNumber) {
+        return exchange(request, UnleashedClient.pagePath(request.getPath(), pageNumber));
+    }
+
+    private <T, R> Mono<R> exchange(UnleashedRequest<T> request, String path) {
+        final HttpMethod method = HttpMethod.valueOf(request.getHttpMethod().name());
+        final URI requestUri = UriComponentsBuilder
+                .fromHttpUrl(this.baseUri)
+                .path(path)
+                .query(request.getQuery())
+                .build()
+                .toUri();
+        LOGGER.debug("Request method: {}, URI: {}", method, requestUri);
+
+        final WebClient.RequestBodySpec spec = this.webClient
+                .method(method)
+                .uri(requestUri)
+                .headers(headers -> request.getHeaders().forEach(headers::addAll));
+        final WebClient.RequestHeadersSpec<?> headersSpec = request.getRequestBody() == null
+                ? spec
+                : spec.bodyValue(request.getRequestBody());
+
+        return headersSpec.retrieve()
+                .bodyToMono(ParameterizedTypeReference.<R>forType(request.getResponseType()))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    if (!e.getStatusCode().is4xxClientError()) {
+                        return Mono.error(e);
+                    }
+                    final byte[] body = e.getResponseBodyAsByteArray();
+                    LOGGER.error("Request failed with status code: {}, body: {}", e.getStatusCode(), new LazyBody(body));
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("Parsed error: {}", UnleashedApiException.parse(body, mapper)
+                                .orElse(new UnleashedError(List.of())));
+                    }
+                    return Mono.empty();
+                });
+    }
+}
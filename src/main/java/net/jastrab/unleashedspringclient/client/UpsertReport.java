@@ -0,0 +1,49 @@
+package net.jastrab.unleashedspringclient.client;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-item results of {@link UnleashedClient#upsertProducts}, in the order the products were submitted
+ *
+ * @since 0.5.8
+ */
+public class UpsertReport {
+    private final List<UpsertResult> results;
+
+    UpsertReport(List<UpsertResult> results) {
+        this.results = List.copyOf(results);
+    }
+
+    public List<UpsertResult> getResults() {
+        return results;
+    }
+
+    public List<UpsertResult> getResults(UpsertResult.Status status) {
+        return results.stream()
+                .filter(result -> result.getStatus() == status)
+                .collect(Collectors.toList());
+    }
+
+    public long count(UpsertResult.Status status) {
+        return results.stream()
+                .filter(result -> result.getStatus() == status)
+                .count();
+    }
+
+    public boolean hasFailures() {
+        return count(UpsertResult.Status.FAILED) > 0;
+    }
+
+    @Override
+    public String toString() {
+        final Map<UpsertResult.Status, Long> counts = Arrays.stream(UpsertResult.Status.values())
+                .collect(Collectors.toMap(Function.identity(), this::count, (first, second) -> first,
+                        () -> new EnumMap<>(UpsertResult.Status.class)));
+        return "UpsertReport" + counts;
+    }
+}
@@ -0,0 +1,103 @@
+package net.jastrab.unleashedspringclient.client;
+
+import net.jastrab.unleashed.api.models.Product;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Outcome of upserting a single product as part of {@link UnleashedClient#upsertProducts}
+ *
+ * @since 0.5.8
+ */
+public class UpsertResult {
+
+    public enum Status {
+        /**
+         * The product did not exist and was created
+         */
+        CREATED,
+        /**
+         * The product existed and was updated
+         */
+        UPDATED,
+        /**
+         * The product existed and no update was required
+         */
+        UNCHANGED,
+        /**
+         * The product could not be created or updated
+         */
+        FAILED
+    }
+
+    private final String productCode;
+    private final Status status;
+    private final Product product;
+    private final Throwable error;
+    private final Set<String> changedProperties;
+
+    private UpsertResult(String productCode, Status status, Product product, Throwable error,
+                         Set<String> changedProperties) {
+        this.productCode = productCode;
+        this.status = status;
+        this.product = product;
+        this.error = error;
+        this.changedProperties = Set.copyOf(changedProperties);
+    }
+
+    static UpsertResult created(String productCode, Product product) {
+        return new UpsertResult(productCode, Status.CREATED, product, null, Set.of());
+    }
+
+    static UpsertResult updated(String productCode, Product product, Set<String> changedProperties) {
+        return new UpsertResult(productCode, Status.UPDATED, product, null, changedProperties);
+    }
+
+    static UpsertResult unchanged(String productCode, Product product) {
+        return new UpsertResult(productCode, Status.UNCHANGED, product, null, Set.of());
+    }
+
+    static UpsertResult failed(String productCode, Throwable error) {
+        return new UpsertResult(productCode, Status.FAILED, null, error, Set.of());
+    }
+
+    public String getProductCode() {
+        return productCode;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the product as returned by Unleashed, or the existing product if it was unchanged
+     */
+    public Optional<Product> getProduct() {
+        return Optional.ofNullable(product);
+    }
+
+    /**
+     * @return the cause of a failed upsert, if known
+     */
+    public Optional<Throwable> getError() {
+        return Optional.ofNullable(error);
+    }
+
+    /**
+     * @return names of the properties which were changed by an update, empty for any other status
+     */
+    public Set<String> getChangedProperties() {
+        return changedProperties;
+    }
+
+    @Override
+    public String toString() {
+        return "UpsertResult{" +
+                "productCode='" + productCode + '\'' +
+                ", status=" + status +
+                (changedProperties.isEmpty() ? "" : ", changedProperties=" + changedProperties) +
+                (error == null ? "" : ", error=" + error) +
+                '}';
+    }
+}
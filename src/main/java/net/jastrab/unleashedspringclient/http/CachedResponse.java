@@ -0,0 +1,129 @@
+package net.jastrab.unleashedspringclient.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * A response stored by the {@link HttpResponseCache}, together with the validators used to revalidate it
+ *
+ * @since 0.5.8
+ */
+public class CachedResponse {
+    private final String key;
+    private final int status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final long storedAt;
+
+    CachedResponse(String key, int status, HttpHeaders headers, byte[] body, long storedAt) {
+        this.key = Objects.requireNonNull(key);
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = Objects.requireNonNull(body);
+        this.storedAt = storedAt;
+    }
+
+    /**
+     * @return a copy of this response stored at a later time, with validators updated from a 304 (Not Modified)
+     */
+    CachedResponse revalidated(HttpHeaders notModified, long now) {
+        final HttpHeaders updated = new HttpHeaders();
+        updated.putAll(headers);
+        if (notModified.getETag() != null) {
+            updated.setETag(notModified.getETag());
+        }
+        if (notModified.getFirst(HttpHeaders.LAST_MODIFIED) != null) {
+            updated.set(HttpHeaders.LAST_MODIFIED, notModified.getFirst(HttpHeaders.LAST_MODIFIED));
+        }
+        return new CachedResponse(key, status, updated, body, now);
+    }
+
+    /**
+     * @return true if the response can be revalidated with a conditional request
+     */
+    public boolean hasValidators() {
+        return getETag() != null || getLastModified() != null;
+    }
+
+    public String getETag() {
+        return headers.getETag();
+    }
+
+    public String getLastModified() {
+        return headers.getFirst(HttpHeaders.LAST_MODIFIED);
+    }
+
+    /**
+     * @return the request URI the response was stored for
+     */
+    public String getKey() {
+        return key;
+    }
+
+    String getPath() {
+        return URI.create(key).getPath();
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    public int getSize() {
+        return body.length;
+    }
+
+    /**
+     * @return time the response was stored or last revalidated, in epoch milliseconds
+     */
+    public long getStoredAt() {
+        return storedAt;
+    }
+
+    ClientHttpResponse toClientHttpResponse() {
+        return new ClientHttpResponse() {
+            @Override
+            public HttpStatus getStatusCode() {
+                return HttpStatus.valueOf(status);
+            }
+
+            @Override
+            public int getRawStatusCode() {
+                return status;
+            }
+
+            @Override
+            public String getStatusText() {
+                return getStatusCode().getReasonPhrase();
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public InputStream getBody() throws IOException {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+}
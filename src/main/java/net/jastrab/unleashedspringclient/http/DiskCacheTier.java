@@ -0,0 +1,356 @@
+package net.jastrab.unleashedspringclient.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Second tier of the {@link HttpResponseCache}, storing the metadata and body of each response in two files named
+ * after the hash of its key, so a revalidated response is updated without rewriting its body.
+ * <p>
+ * Files are written by a background thread; responses waiting to be written are served from memory. The total size of
+ * the stored files is bounded, the least recently written responses are deleted first. Responses stored by a previous
+ * run are indexed from their metadata files when the tier is created, so they survive a restart.
+ */
+class DiskCacheTier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskCacheTier.class);
+    private static final String SUFFIX = ".response";
+    private static final String BODY_SUFFIX = ".body";
+    private static final int FORMAT = 2;
+    private final Path directory;
+    private final long maxBytes;
+    /**
+     * Key -> size of the metadata and body files, in write order
+     */
+    private final Map<String, Long> index = new LinkedHashMap<>();
+    /**
+     * Key -> latest write not yet completed by the writer
+     */
+    private final Map<String, Write> pending = new HashMap<>();
+    private final ExecutorService writer;
+    private long size;
+
+    DiskCacheTier(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(directory);
+            final List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream.sorted(Comparator.comparingLong(DiskCacheTier::lastModified))
+                        .collect(Collectors.toList());
+            }
+            final Set<Path> indexed = new HashSet<>();
+            for (Path file : files) {
+                if (!file.getFileName().toString().endsWith(SUFFIX)) {
+                    continue;
+                }
+                final String key = readKey(file);
+                final Path body = key == null ? null : file(key, BODY_SUFFIX);
+                if (body == null || !file.equals(file(key, SUFFIX)) || !Files.exists(body)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                final long stored = Files.size(file) + Files.size(body);
+                index.put(key, stored);
+                size += stored;
+                indexed.add(body);
+            }
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(BODY_SUFFIX) && !indexed.contains(file)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open response cache directory " + directory, e);
+        }
+        LOGGER.debug("Indexed {} cached responses ({} bytes) in {}", index.size(), size, directory);
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "unleashed-response-cache-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        synchronized (this) {
+            evict();
+        }
+    }
+
+    synchronized CachedResponse get(String key) {
+        final Write write = pending.get(key);
+        if (write != null) {
+            return write.response;
+        }
+        if (!index.containsKey(key)) {
+            return null;
+        }
+        final CachedResponse response = read(key);
+        if (response == null || !response.getKey().equals(key)) {
+            remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    /**
+     * Queue a response to be written with its body
+     */
+    synchronized void put(CachedResponse response) {
+        enqueue(response, true);
+    }
+
+    /**
+     * Queue the metadata of a revalidated response to be written, keeping the stored body. The response is written
+     * with its body if it is not stored.
+     */
+    synchronized void updateMetadata(CachedResponse response) {
+        enqueue(response, !index.containsKey(response.getKey()));
+    }
+
+    synchronized void remove(String key) {
+        final Long removed = index.remove(key);
+        if (removed != null) {
+            size -= removed;
+        }
+        delete(key);
+    }
+
+    synchronized void removeIf(Predicate<String> key) {
+        index.keySet().stream()
+                .filter(key)
+                .collect(Collectors.toList())
+                .forEach(this::remove);
+    }
+
+    synchronized long getSize() {
+        return size;
+    }
+
+    synchronized int getCount() {
+        return index.size();
+    }
+
+    /**
+     * Stop the writer once the queued writes are completed
+     */
+    void close() {
+        synchronized (this) {
+            writer.shutdown();
+        }
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOGGER.warn("Timed out writing cached responses to {}", directory);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(CachedResponse response, boolean withBody) {
+        if (writer.isShutdown()) {
+            return;
+        }
+        final String key = response.getKey();
+        final Write write = new Write(response, metadata(response), withBody);
+        final Long previous = index.remove(key);
+        size -= previous == null ? 0 : previous;
+        final long stored = write.metadata.length + response.getBody().length;
+        index.put(key, stored);
+        size += stored;
+        pending.put(key, write);
+        writer.execute(() -> write(write));
+        evict();
+    }
+
+    private void delete(String key) {
+        pending.remove(key);
+        if (writer.isShutdown()) {
+            return;
+        }
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(file(key, SUFFIX));
+                Files.deleteIfExists(file(key, BODY_SUFFIX));
+            } catch (IOException e) {
+                LOGGER.warn("Failed to delete cached response for {}: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<String, Long>> entries = index.entrySet().iterator();
+        while (size > maxBytes && entries.hasNext()) {
+            final Map.Entry<String, Long> entry = entries.next();
+            size -= entry.getValue();
+            entries.remove();
+            delete(entry.getKey());
+        }
+    }
+
+    /**
+     * Runs on the writer. The metadata file is deleted before the body is replaced, so a response is never read with
+     * the body of another.
+     */
+    private void write(Write write) {
+        final String key = write.response.getKey();
+        try {
+            final Path metadata = file(key, SUFFIX);
+            if (write.withBody) {
+                Files.deleteIfExists(metadata);
+                writeAtomically(file(key, BODY_SUFFIX), write.response.getBody());
+            }
+            writeAtomically(metadata, write.metadata);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write cached response for {}: {}", key, e.getMessage());
+        } finally {
+            synchronized (this) {
+                pending.remove(key, write);
+            }
+        }
+    }
+
+    private void writeAtomically(Path file, byte[] content) throws IOException {
+        final Path temp = Files.createTempFile(directory, "response", ".tmp");
+        try {
+            Files.write(temp, content);
+            move(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path file(String key, String suffix) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder name = new StringBuilder(hash.length * 2 + suffix.length());
+            for (byte b : hash) {
+                name.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return directory.resolve(name.append(suffix).toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] metadata(CachedResponse response) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT);
+            out.writeUTF(response.getKey());
+            out.writeInt(response.getStatus());
+            out.writeLong(response.getStoredAt());
+            out.writeInt(response.getHeaders().size());
+            for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeInt(header.getValue().size());
+                for (String value : header.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+            out.writeInt(response.getBody().length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the key of the response described by a metadata file, or null if it cannot be read
+     */
+    private static String readKey(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 512))) {
+            return in.readInt() == FORMAT ? in.readUTF() : null;
+        } catch (IOException e) {
+            LOGGER.debug("Discarding unreadable cached response {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the response stored for a key, or null if it cannot be read
+     */
+    private CachedResponse read(String key) {
+        final Path file = file(key, SUFFIX);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT) {
+                return null;
+            }
+            final String storedKey = in.readUTF();
+            final int status = in.readInt();
+            final long storedAt = in.readLong();
+            final HttpHeaders headers = new HttpHeaders();
+            final int headerCount = in.readInt();
+            for (int i = 0; i < headerCount; i++) {
+                final String name = in.readUTF();
+                final int valueCount = in.readInt();
+                for (int j = 0; j < valueCount; j++) {
+                    headers.add(name, in.readUTF());
+                }
+            }
+            final int length = in.readInt();
+            final byte[] body = Files.readAllBytes(file(key, BODY_SUFFIX));
+            if (body.length != length) {
+                return null;
+            }
+            return new CachedResponse(storedKey, status, headers, body, storedAt);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Discarding unreadable cached response {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static final class Write {
+        private final CachedResponse response;
+        private final byte[] metadata;
+        private final boolean withBody;
+
+        private Write(CachedResponse response, byte[] metadata, boolean withBody) {
+            this.response = response;
+            this.metadata = metadata;
+            this.withBody = withBody;
+        }
+    }
+}
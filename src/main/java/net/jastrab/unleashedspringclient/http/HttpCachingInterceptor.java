@@ -0,0 +1,85 @@
+package net.jastrab.unleashedspringclient.http;
+
+import net.jastrab.unleashedspringclient.utils.PathTemplates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Serves GET requests from an {@link HttpResponseCache}, revalidating stale responses with If-None-Match and
+ * If-Modified-Since. A successful request with any other method invalidates the stored responses of its resource.
+ * <p>
+ * Must be placed before any rate limiting interceptor, so responses served from the cache do not consume permits.
+ *
+ * @since 0.5.8
+ */
+public class HttpCachingInterceptor implements ClientHttpRequestInterceptor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpCachingInterceptor.class);
+    private final HttpResponseCache cache;
+
+    public HttpCachingInterceptor(HttpResponseCache cache) {
+        this.cache = Objects.requireNonNull(cache, "HttpResponseCache cannot be null");
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        final String path = request.getURI().getPath();
+        if (request.getMethod() != HttpMethod.GET) {
+            final ClientHttpResponse response = execution.execute(request, body);
+            if (response.getRawStatusCode() < 400) {
+                cache.invalidateResource(PathTemplates.resourceOf(path));
+            }
+            return response;
+        }
+
+        final String key = request.getURI().toString();
+        final CachedResponse cached = cache.get(key);
+        if (cached != null && cache.isFresh(cached)) {
+            cache.recordHit();
+            return cached.toClientHttpResponse();
+        }
+        if (cached != null && cached.hasValidators()) {
+            if (cached.getETag() != null) {
+                request.getHeaders().setIfNoneMatch(cached.getETag());
+            }
+            if (cached.getLastModified() != null) {
+                request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+            }
+        }
+
+        final ClientHttpResponse response = execution.execute(request, body);
+        if (cached != null && response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            final HttpHeaders notModified = response.getHeaders();
+            response.close();
+            final CachedResponse revalidated = cached.revalidated(notModified, cache.now());
+            cache.revalidate(revalidated);
+            cache.recordRevalidation();
+            LOGGER.debug("Cached response for {} revalidated", key);
+            return revalidated.toClientHttpResponse();
+        }
+        cache.recordMiss();
+        if (response.getRawStatusCode() != HttpStatus.OK.value() || !cache.isCacheable(path, response.getHeaders())) {
+            return response;
+        }
+
+        final byte[] content;
+        final HttpHeaders headers = new HttpHeaders();
+        try (response) {
+            headers.putAll(response.getHeaders());
+            content = StreamUtils.copyToByteArray(response.getBody());
+        }
+        final CachedResponse stored = new CachedResponse(key, response.getRawStatusCode(), headers, content, cache.now());
+        cache.put(stored);
+        return stored.toClientHttpResponse();
+    }
+}
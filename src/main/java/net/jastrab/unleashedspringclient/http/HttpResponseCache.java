@@ -0,0 +1,246 @@
+package net.jastrab.unleashedspringclient.http;
+
+import net.jastrab.unleashedspringclient.utils.PathTemplates;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stores GET responses of the Unleashed API for the {@link HttpCachingInterceptor}.
+ * <p>
+ * A stored response is served without a request while it is fresh, according to the time to live of its resource
+ * (the first segment of the path, e.g. products for /Products/Page/2). Once stale, a response with an ETag or
+ * Last-Modified header is revalidated with a conditional request, and is served again if Unleashed replies 304 (Not
+ * Modified). Responses without validators are only stored for resources with a time to live.
+ * <p>
+ * The memory tier is bounded by the total size of the stored bodies, evicting the least recently used responses. An
+ * optional disk tier keeps a copy of every stored response, bounded by its own size, from which responses evicted from
+ * memory or stored by a previous run are read back. The disk tier is written by a background thread, queued writes are
+ * completed when the cache is closed.
+ *
+ * @since 0.5.8
+ */
+public class HttpResponseCache {
+    private static final String NO_STORE = "no-store";
+    private final long maxBytes;
+    private final Duration defaultTtl;
+    private final Map<String, Duration> resourceTtls = new HashMap<>();
+    private final DiskCacheTier disk;
+    private final Clock clock;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxBytes     maximum total size of the response bodies held in memory
+     * @param defaultTtl   time for which responses are served without revalidation, unless set for their resource
+     * @param directory    directory of the disk tier, or null to only cache in memory
+     * @param maxDiskBytes maximum total size of the disk tier
+     */
+    public HttpResponseCache(long maxBytes, Duration defaultTtl, Path directory, long maxDiskBytes) {
+        this(maxBytes, defaultTtl, directory, maxDiskBytes, Clock.systemUTC());
+    }
+
+    HttpResponseCache(long maxBytes, Duration defaultTtl, Path directory, long maxDiskBytes, Clock clock) {
+        if (maxBytes < 0 || maxDiskBytes < 0) {
+            throw new IllegalArgumentException("Cache sizes must not be negative");
+        }
+        this.maxBytes = maxBytes;
+        this.defaultTtl = Objects.requireNonNull(defaultTtl, "Default ttl cannot be null");
+        this.disk = directory == null ? null : new DiskCacheTier(directory, maxDiskBytes);
+        this.clock = clock;
+    }
+
+    /**
+     * Set the time to live of the responses of a resource. Must be called before the cache is used.
+     *
+     * @param resource name of the resource, e.g. Products
+     * @param ttl      time for which responses are served without revalidation
+     */
+    public void setResourceTtl(String resource, Duration ttl) {
+        resourceTtls.put(resource.toLowerCase(), Objects.requireNonNull(ttl, "Ttl cannot be null"));
+    }
+
+    /**
+     * @return the response stored for a request URI, from memory or the disk tier, or null
+     */
+    public CachedResponse get(String key) {
+        synchronized (this) {
+            final CachedResponse response = entries.get(key);
+            if (response != null || disk == null) {
+                return response;
+            }
+        }
+        final CachedResponse stored = disk.get(key);
+        if (stored != null) {
+            synchronized (this) {
+                putInMemory(stored);
+            }
+        }
+        return stored;
+    }
+
+    public void put(CachedResponse response) {
+        synchronized (this) {
+            putInMemory(response);
+        }
+        if (disk != null) {
+            disk.put(response);
+        }
+    }
+
+    /**
+     * Replace a response revalidated by a 304 (Not Modified). Only its metadata is rewritten in the disk tier.
+     */
+    public void revalidate(CachedResponse response) {
+        synchronized (this) {
+            putInMemory(response);
+        }
+        if (disk != null) {
+            disk.updateMetadata(response);
+        }
+    }
+
+    /**
+     * Remove every response of a resource, e.g. after it has been modified
+     */
+    public void invalidateResource(String resource) {
+        final String name = resource.toLowerCase();
+        synchronized (this) {
+            final Iterator<CachedResponse> responses = entries.values().iterator();
+            while (responses.hasNext()) {
+                final CachedResponse response = responses.next();
+                if (PathTemplates.resourceOf(response.getPath()).equals(name)) {
+                    size -= response.getSize();
+                    responses.remove();
+                }
+            }
+        }
+        if (disk != null) {
+            disk.removeIf(key -> PathTemplates.resourceOf(URI.create(key).getPath()).equals(name));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (this) {
+            entries.clear();
+            size = 0;
+        }
+        if (disk != null) {
+            disk.removeIf(key -> true);
+        }
+    }
+
+    /**
+     * @return true if a response may be served without revalidation
+     */
+    public boolean isFresh(CachedResponse response) {
+        final Duration ttl = ttlOf(response.getPath());
+        return !ttl.isZero() && clock.millis() - response.getStoredAt() < ttl.toMillis();
+    }
+
+    /**
+     * @return true if a response to a request for the path should be stored
+     */
+    boolean isCacheable(String path, HttpHeaders headers) {
+        final String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && cacheControl.contains(NO_STORE)) {
+            return false;
+        }
+        return headers.getETag() != null
+                || headers.getFirst(HttpHeaders.LAST_MODIFIED) != null
+                || !ttlOf(path).isZero();
+    }
+
+    long now() {
+        return clock.millis();
+    }
+
+    private Duration ttlOf(String path) {
+        return resourceTtls.getOrDefault(PathTemplates.resourceOf(path), defaultTtl);
+    }
+
+    private void putInMemory(CachedResponse response) {
+        if (response.getSize() > maxBytes) {
+            return;
+        }
+        final CachedResponse previous = entries.put(response.getKey(), response);
+        size += response.getSize() - (previous == null ? 0 : previous.getSize());
+        final Iterator<CachedResponse> eldest = entries.values().iterator();
+        while (size > maxBytes && eldest.hasNext()) {
+            size -= eldest.next().getSize();
+            eldest.remove();
+        }
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * @return number of responses served without a request
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of stored responses served after Unleashed confirmed they were not modified
+     */
+    public long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    /**
+     * @return number of requests for which no stored response could be served
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return total size of the response bodies held in memory
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized int getCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return total size of the disk tier, or 0 if there is none
+     */
+    public long getDiskSize() {
+        return disk == null ? 0 : disk.getSize();
+    }
+
+    /**
+     * Complete the queued writes of the disk tier. Responses stored afterwards are only cached in memory.
+     */
+    public void close() {
+        if (disk != null) {
+            disk.close();
+        }
+    }
+}
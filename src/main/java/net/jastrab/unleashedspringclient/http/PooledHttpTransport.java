@@ -0,0 +1,79 @@
+package net.jastrab.unleashedspringclient.http;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled, keep-alive HTTP transport for the {@link net.jastrab.unleashedspringclient.client.UnleashedClient} backed by
+ * Apache HttpClient.
+ * <p>
+ * Connections (and their TLS sessions) are reused across requests, idle connections are evicted in the background
+ * and responses are transparently decompressed when compression is enabled.
+ */
+public class PooledHttpTransport implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledHttpTransport.class);
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final HttpComponentsClientHttpRequestFactory requestFactory;
+
+    public PooledHttpTransport(int maxConnections,
+                               int maxConnectionsPerRoute,
+                               Duration connectTimeout,
+                               Duration readTimeout,
+                               Duration connectionRequestTimeout,
+                               Duration idleTimeout,
+                               boolean compression) {
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(maxConnections);
+        this.connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        this.connectionManager.setValidateAfterInactivity((int) Math.min(idleTimeout.toMillis(), 2000));
+
+        final RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+                .build();
+
+        final HttpClientBuilder builder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .useSystemProperties();
+        if (!compression) {
+            builder.disableContentCompression();
+        }
+
+        this.httpClient = builder.build();
+        this.requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        LOGGER.debug("Pooled HTTP transport initialized, max connections: {}, per route: {}",
+                maxConnections, maxConnectionsPerRoute);
+    }
+
+    public ClientHttpRequestFactory getRequestFactory() {
+        return requestFactory;
+    }
+
+    /**
+     * @return current leased, pending, available and max connection counts of the pool
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,42 @@
+package net.jastrab.unleashedspringclient.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.jastrab.unleashedspringclient.http.HttpResponseCache;
+
+/**
+ * Counters and gauges for an {@link HttpResponseCache}
+ *
+ * @since 0.5.8
+ */
+public final class HttpCacheMetrics {
+
+    private HttpCacheMetrics() {
+    }
+
+    public static void bindTo(MeterRegistry registry, HttpResponseCache cache) {
+        FunctionCounter.builder("unleashed.http.cache.requests", cache, HttpResponseCache::getHitCount)
+                .tag("result", "hit")
+                .description("GET requests by how they were served by the response cache")
+                .register(registry);
+        FunctionCounter.builder("unleashed.http.cache.requests", cache, HttpResponseCache::getRevalidationCount)
+                .tag("result", "revalidated")
+                .description("GET requests by how they were served by the response cache")
+                .register(registry);
+        FunctionCounter.builder("unleashed.http.cache.requests", cache, HttpResponseCache::getMissCount)
+                .tag("result", "miss")
+                .description("GET requests by how they were served by the response cache")
+                .register(registry);
+        Gauge.builder("unleashed.http.cache.size", cache, HttpResponseCache::getSize)
+                .tag("tier", "memory")
+                .description("Total size of the cached response bodies")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("unleashed.http.cache.size", cache, HttpResponseCache::getDiskSize)
+                .tag("tier", "disk")
+                .description("Total size of the cached response bodies")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
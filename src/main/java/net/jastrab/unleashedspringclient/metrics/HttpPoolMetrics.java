@@ -0,0 +1,31 @@
+package net.jastrab.unleashedspringclient.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.jastrab.unleashedspringclient.http.PooledHttpTransport;
+
+/**
+ * Gauges for the connection pool of a {@link PooledHttpTransport}
+ *
+ * @since 0.5.8
+ */
+public final class HttpPoolMetrics {
+
+    private HttpPoolMetrics() {
+    }
+
+    public static void bindTo(MeterRegistry registry, PooledHttpTransport transport) {
+        Gauge.builder("unleashed.http.pool.leased", transport, t -> t.getPoolStats().getLeased())
+                .description("Connections currently in use")
+                .register(registry);
+        Gauge.builder("unleashed.http.pool.available", transport, t -> t.getPoolStats().getAvailable())
+                .description("Idle connections available for reuse")
+                .register(registry);
+        Gauge.builder("unleashed.http.pool.pending", transport, t -> t.getPoolStats().getPending())
+                .description("Requests waiting for a connection")
+                .register(registry);
+        Gauge.builder("unleashed.http.pool.max", transport, t -> t.getPoolStats().getMax())
+                .description("Maximum number of connections in the pool")
+                .register(registry);
+    }
+}
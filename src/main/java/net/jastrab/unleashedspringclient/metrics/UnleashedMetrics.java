@@ -0,0 +1,236 @@
+package net.jastrab.unleashedspringclient.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import net.jastrab.unleashedspringclient.client.ExchangeObserver;
+import net.jastrab.unleashedspringclient.client.UnleashedClient;
+import net.jastrab.unleashedspringclient.ratelimit.TokenBucket;
+import net.jastrab.unleashedspringclient.ratelimit.UnleashedRateLimiter;
+import net.jastrab.unleashedspringclient.resilience.CircuitBreaker;
+import net.jastrab.unleashedspringclient.resilience.EndpointGuard;
+import net.jastrab.unleashedspringclient.retry.Retrier;
+import net.jastrab.unleashedspringclient.utils.PathTemplates;
+import org.springframework.http.HttpMethod;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records Micrometer metrics for an {@link UnleashedClient}.
+ * <p>
+ * Every request is timed as {@code unleashed.client.requests}, tagged by resource path template, HTTP method, status
+ * and outcome, and paginated requests record the number of pages and items retrieved. Once bound to a registry,
+ * gauges and counters are also registered for the retrier, request coalescing and, when configured, the rate limiter
+ * and the circuit breaker and bulkhead of each endpoint.
+ *
+ * @since 0.5.8
+ */
+public class UnleashedMetrics implements ExchangeObserver {
+    public static final String REQUESTS = "unleashed.client.requests";
+    public static final String PAGES = "unleashed.client.pages";
+    public static final String ITEMS = "unleashed.client.items";
+    private static final int MAX_PATH_TEMPLATES = 1024;
+    private final UnleashedClient client;
+    private final UnleashedRateLimiter rateLimiter;
+    private final Map<String, String> pathTemplates = new ConcurrentHashMap<>();
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    /**
+     * @param client      the client whose retrier and request coalescing are instrumented
+     * @param rateLimiter the rate limiter used by the client, or null if requests are not rate limited
+     */
+    public UnleashedMetrics(UnleashedClient client, UnleashedRateLimiter rateLimiter) {
+        this.client = client;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Register the client meters with a registry, after which requests are recorded to it.
+     * <p>
+     * Rate limit gauges are registered for the buckets of the rate limiter at the time of binding, so resource limits
+     * must be added to the rate limiter before the metrics are bound (as is required before the limiter is used).
+     */
+    public synchronized void bindTo(MeterRegistry registry) {
+        if (this.registry == registry) {
+            return;
+        }
+        timers.clear();
+        this.registry = registry;
+        final Retrier retrier = client.getRetrier();
+        FunctionCounter.builder("unleashed.client.retries", retrier, Retrier::getRetryCount)
+                .description("Number of requests retried after a transient failure")
+                .register(registry);
+        FunctionCounter.builder("unleashed.client.retries.exhausted", retrier, Retrier::getExhaustedCount)
+                .description("Number of requests which failed after exhausting their retries")
+                .register(registry);
+        client.getSingleFlight().ifPresent(singleFlight -> {
+            FunctionCounter.builder("unleashed.client.coalesced", singleFlight, s -> s.getSharedCount())
+                    .description("Number of requests served by sharing an identical request in flight")
+                    .register(registry);
+            Gauge.builder("unleashed.client.in.flight", singleFlight, s -> s.getInFlightCount())
+                    .description("Number of distinct coalesced requests in flight")
+                    .register(registry);
+        });
+        if (rateLimiter != null) {
+            bindRateLimiter(registry);
+        }
+        client.getEndpointGuards().ifPresent(guards -> guards.addListener(guard -> bindGuard(registry, guard)));
+    }
+
+    private static void bindGuard(MeterRegistry registry, EndpointGuard guard) {
+        final Tags tags = Tags.of("endpoint", guard.getEndpoint());
+        guard.getCircuitBreaker().ifPresent(breaker -> {
+            Gauge.builder("unleashed.client.circuit.state", breaker, b -> b.getState().ordinal())
+                    .tags(tags)
+                    .description("State of the endpoint circuit breaker: 0 closed, 1 open, 2 half open")
+                    .register(registry);
+            Gauge.builder("unleashed.client.circuit.failure.rate", breaker, CircuitBreaker::getFailureRate)
+                    .tags(tags)
+                    .description("Fraction of recent requests to the endpoint which failed")
+                    .register(registry);
+            FunctionCounter.builder("unleashed.client.calls.rejected", guard, EndpointGuard::getCircuitOpenRejections)
+                    .tags(tags.and("reason", "circuit_open"))
+                    .description("Requests rejected without being sent")
+                    .register(registry);
+        });
+        if (guard.getMaxConcurrentCalls() > 0) {
+            Gauge.builder("unleashed.client.bulkhead.available", guard, EndpointGuard::getAvailableConcurrentCalls)
+                    .tags(tags)
+                    .description("Concurrent requests which may still be made to the endpoint")
+                    .register(registry);
+            FunctionCounter.builder("unleashed.client.calls.rejected", guard, EndpointGuard::getBulkheadRejections)
+                    .tags(tags.and("reason", "bulkhead_full"))
+                    .description("Requests rejected without being sent")
+                    .register(registry);
+        }
+    }
+
+    private void bindRateLimiter(MeterRegistry registry) {
+        Gauge.builder("unleashed.ratelimit.queue", rateLimiter, UnleashedRateLimiter::getQueueDepth)
+                .description("Number of requests waiting for a rate limit permit")
+                .register(registry);
+        bindBucket(registry, "default", rateLimiter.getDefaultBucket());
+        rateLimiter.getResourceBuckets().forEach((resource, bucket) -> bindBucket(registry, resource, bucket));
+    }
+
+    private static void bindBucket(MeterRegistry registry, String resource, TokenBucket bucket) {
+        Gauge.builder("unleashed.ratelimit.permits", bucket, TokenBucket::getAvailablePermits)
+                .tag("resource", resource)
+                .description("Rate limit permits currently available")
+                .register(registry);
+        Gauge.builder("unleashed.ratelimit.waiting", bucket, TokenBucket::getQueueDepth)
+                .tag("resource", resource)
+                .description("Requests waiting for a permit from this rate limit")
+                .register(registry);
+    }
+
+    @Override
+    public void onExchange(HttpMethod method, String path, int status, long durationNanos) {
+        final MeterRegistry registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+        final TimerKey key = new TimerKey(pathTemplate(path), method, status);
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, missing -> requestTimer(registry, missing));
+        }
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer requestTimer(MeterRegistry registry, TimerKey key) {
+        return Timer.builder(REQUESTS)
+                .description("Requests made to the Unleashed API")
+                .tags(Tags.of(
+                        "uri", key.uri,
+                        "method", key.method.name(),
+                        "status", key.status == NO_RESPONSE ? "IO_ERROR" : Integer.toString(key.status),
+                        "outcome", outcome(key.status)))
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public void onPaginated(String path, int pages, int items) {
+        final MeterRegistry registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+        final String uri = pathTemplate(path);
+        DistributionSummary.builder(PAGES)
+                .description("Pages retrieved per paginated request")
+                .tag("uri", uri)
+                .register(registry)
+                .record(pages);
+        DistributionSummary.builder(ITEMS)
+                .description("Items retrieved per paginated request")
+                .tag("uri", uri)
+                .register(registry)
+                .record(items);
+    }
+
+    /**
+     * Replace identifiers in a resource path so paths of the same resource share a tag, e.g.
+     * /Products/6c3a3990-5340-44f0-b67f-519c3b2bb335 -> /Products/{guid}
+     */
+    String pathTemplate(String path) {
+        if (path == null) {
+            return PathTemplates.of(null);
+        }
+        final String template = pathTemplates.get(path);
+        if (template != null) {
+            return template;
+        }
+        final String resolved = PathTemplates.of(path);
+        if (pathTemplates.size() < MAX_PATH_TEMPLATES) {
+            pathTemplates.putIfAbsent(path, resolved);
+        }
+        return resolved;
+    }
+
+    static String outcome(int status) {
+        if (status >= 200 && status < 300) {
+            return "SUCCESS";
+        } else if (status >= 400 && status < 500) {
+            return "CLIENT_ERROR";
+        } else if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        return "UNKNOWN";
+    }
+
+    /**
+     * Identity of a request timer, so the timer of each combination of tags is built and registered only once
+     */
+    private static final class TimerKey {
+        private final String uri;
+        private final HttpMethod method;
+        private final int status;
+
+        TimerKey(String uri, HttpMethod method, int status) {
+            this.uri = uri;
+            this.method = method;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final TimerKey key = (TimerKey) o;
+            return status == key.status && method == key.method && uri.equals(key.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, method, status);
+        }
+    }
+}
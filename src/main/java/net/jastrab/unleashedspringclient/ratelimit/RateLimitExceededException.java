@@ -0,0 +1,17 @@
+package net.jastrab.unleashedspringclient.ratelimit;
+
+/**
+ * Thrown when a request could not acquire a rate limit permit
+ */
+public class RateLimitExceededException extends RuntimeException {
+    private final String resource;
+
+    public RateLimitExceededException(String resource) {
+        super("Rate limit exceeded for Unleashed resource: " + resource);
+        this.resource = resource;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+}
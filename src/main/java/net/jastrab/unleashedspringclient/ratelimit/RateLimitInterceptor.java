@@ -0,0 +1,29 @@
+package net.jastrab.unleashedspringclient.ratelimit;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Acquires a permit from an {@link UnleashedRateLimiter} before each request is executed
+ */
+public class RateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final UnleashedRateLimiter rateLimiter;
+
+    public RateLimitInterceptor(UnleashedRateLimiter rateLimiter) {
+        Objects.requireNonNull(rateLimiter, "UnleashedRateLimiter cannot be null");
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        rateLimiter.acquire(request.getURI().getPath());
+
+        return execution.execute(request, body);
+    }
+}
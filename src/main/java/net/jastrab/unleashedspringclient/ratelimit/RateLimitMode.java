@@ -0,0 +1,15 @@
+package net.jastrab.unleashedspringclient.ratelimit;
+
+/**
+ * Behaviour of the rate limiter when no permit is immediately available
+ */
+public enum RateLimitMode {
+    /**
+     * Wait (up to the configured maximum wait) for a permit to become available
+     */
+    BLOCK,
+    /**
+     * Reject the request immediately with a {@link RateLimitExceededException}
+     */
+    FAIL_FAST
+}
@@ -0,0 +1,110 @@
+package net.jastrab.unleashedspringclient.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe token bucket which refills at a fixed rate up to a maximum burst size.
+ * <p>
+ * A caller which is willing to wait reserves the next token ahead of time (the bucket may go into debt), so waiting
+ * callers are granted permits in the order they arrived.
+ */
+public class TokenBucket {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double permitsPerNano;
+    private final double capacity;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param permitsPerSecond rate at which permits are replenished
+     * @param burst            maximum number of permits which may be accumulated
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Permits per second must be greater than 0");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1");
+        }
+        this.permitsPerNano = permitsPerSecond / NANOS_PER_SECOND;
+        this.capacity = burst;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Acquire a permit only if one is immediately available
+     *
+     * @return true if a permit was acquired
+     */
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    /**
+     * Acquire a permit, waiting up to the specified timeout for one to become available. If the permit cannot be
+     * granted within the timeout this method returns immediately without waiting.
+     *
+     * @param timeout maximum time to wait for a permit
+     * @return true if a permit was acquired
+     * @throws InterruptedException if interrupted while waiting for a permit
+     */
+    public boolean tryAcquire(Duration timeout) throws InterruptedException {
+        final long waitNanos = reserve(timeout.toNanos());
+        if (waitNanos < 0) {
+            return false;
+        }
+        if (waitNanos > 0) {
+            waiting.incrementAndGet();
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of callers currently waiting for a reserved permit
+     */
+    public int getQueueDepth() {
+        return waiting.get();
+    }
+
+    /**
+     * @return number of permits which could be acquired immediately
+     */
+    public synchronized double getAvailablePermits() {
+        refill(System.nanoTime());
+        return Math.max(0, tokens);
+    }
+
+    /**
+     * Reserve a permit if it will be available within maxWaitNanos
+     *
+     * @return nanoseconds the caller must wait before using the permit, or -1 if no permit was reserved
+     */
+    private synchronized long reserve(long maxWaitNanos) {
+        refill(System.nanoTime());
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        final long waitNanos = (long) Math.ceil((1 - tokens) / permitsPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,91 @@
+package net.jastrab.unleashedspringclient.ratelimit;
+
+import net.jastrab.unleashedspringclient.utils.PathTemplates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Client side rate limiter for the Unleashed API.
+ * <p>
+ * All requests share a single {@link TokenBucket} unless a resource (the first segment of the request path, e.g.
+ * Products for /Products/Page/2) has been given its own limit.
+ */
+public class UnleashedRateLimiter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnleashedRateLimiter.class);
+    private final TokenBucket defaultBucket;
+    private final Map<String, TokenBucket> resourceBuckets = new HashMap<>();
+    private final RateLimitMode mode;
+    private final Duration maxWait;
+
+    public UnleashedRateLimiter(TokenBucket defaultBucket, RateLimitMode mode, Duration maxWait) {
+        this.defaultBucket = Objects.requireNonNull(defaultBucket, "Default bucket cannot be null");
+        this.mode = Objects.requireNonNull(mode, "Mode cannot be null");
+        this.maxWait = Objects.requireNonNull(maxWait, "Max wait cannot be null");
+    }
+
+    /**
+     * Give a resource its own limit instead of sharing the default bucket. Must be called before the limiter is used,
+     * and before any metrics for the limiter are bound.
+     *
+     * @param resource name of the resource, e.g. Products
+     * @param bucket   bucket to use for requests to the resource
+     */
+    public void addResourceLimit(String resource, TokenBucket bucket) {
+        resourceBuckets.put(resource.toLowerCase(), Objects.requireNonNull(bucket, "Bucket cannot be null"));
+    }
+
+    /**
+     * Acquire a permit for a request to the given path according to the configured {@link RateLimitMode}
+     *
+     * @param path request path, e.g. /Products/Page/2
+     * @throws RateLimitExceededException if no permit could be acquired
+     * @throws InterruptedIOException     if interrupted while waiting for a permit
+     */
+    public void acquire(String path) throws InterruptedIOException {
+        final String resource = PathTemplates.resourceOf(path);
+        final TokenBucket bucket = bucketFor(resource);
+        final boolean acquired;
+        try {
+            acquired = mode == RateLimitMode.FAIL_FAST ? bucket.tryAcquire() : bucket.tryAcquire(maxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for rate limit permit for " + resource);
+        }
+        if (!acquired) {
+            LOGGER.debug("Rate limit exceeded for resource: {}", resource);
+            throw new RateLimitExceededException(resource);
+        }
+    }
+
+    /**
+     * @return total number of callers currently waiting for a permit across all buckets
+     */
+    public int getQueueDepth() {
+        return defaultBucket.getQueueDepth() + resourceBuckets.values().stream()
+                .mapToInt(TokenBucket::getQueueDepth)
+                .sum();
+    }
+
+    public TokenBucket getDefaultBucket() {
+        return defaultBucket;
+    }
+
+    public Map<String, TokenBucket> getResourceBuckets() {
+        return Map.copyOf(resourceBuckets);
+    }
+
+    public RateLimitMode getMode() {
+        return mode;
+    }
+
+    private TokenBucket bucketFor(String resource) {
+        return resourceBuckets.getOrDefault(resource, defaultBucket);
+    }
+}
@@ -0,0 +1,32 @@
+package net.jastrab.unleashedspringclient.resilience;
+
+/**
+ * Thrown without making a request when the circuit breaker of an endpoint is open or its bulkhead is full
+ *
+ * @since 0.5.8
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    public enum Reason {
+        CIRCUIT_OPEN,
+        BULKHEAD_FULL
+    }
+
+    private final String endpoint;
+    private final Reason reason;
+
+    public CallNotPermittedException(String endpoint, Reason reason) {
+        super((reason == Reason.CIRCUIT_OPEN ? "Circuit breaker open" : "Too many concurrent calls")
+                + " for Unleashed endpoint: " + endpoint, null, false, false);
+        this.endpoint = endpoint;
+        this.reason = reason;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,192 @@
+package net.jastrab.unleashedspringclient.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Count based circuit breaker, see {@link CircuitBreakerPolicy}
+ * <p>
+ * Every permitted call is given a permit identifying the state (generation) in which it was admitted. The outcome of a
+ * call admitted before the latest state change is ignored, so e.g. a slow call admitted while closed cannot count as a
+ * trial call once the breaker has opened and become half open.
+ */
+public class CircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+    /**
+     * Returned by {@link #tryAcquire} when a call is not permitted
+     */
+    public static final long NOT_PERMITTED = -1;
+
+    public enum State {
+        /**
+         * Calls are permitted and their outcome recorded
+         */
+        CLOSED,
+        /**
+         * Calls are rejected until the open duration has elapsed
+         */
+        OPEN,
+        /**
+         * A limited number of trial calls are permitted to decide whether the breaker closes or opens again
+         */
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final CircuitBreakerPolicy policy;
+    private final LongSupplier clock;
+    private final boolean[] failures;
+    private State state = State.CLOSED;
+    private int position;
+    private int recordedCalls;
+    private int failedCalls;
+    private long openedAt;
+    private int trialCalls;
+    private int trialSuccesses;
+    private long generation;
+
+    public CircuitBreaker(String name, CircuitBreakerPolicy policy) {
+        this(name, policy, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, CircuitBreakerPolicy policy, LongSupplier clock) {
+        this.name = name;
+        this.policy = Objects.requireNonNull(policy, "CircuitBreakerPolicy cannot be null");
+        this.clock = clock;
+        this.failures = new boolean[policy.getSlidingWindowSize()];
+    }
+
+    /**
+     * Request permission for a call. A permitted call must be completed with {@link #onSuccess}, {@link #onFailure}
+     * or {@link #release}, passing the returned permit.
+     *
+     * @return the permit of the call, or {@link #NOT_PERMITTED} if the breaker is open, or half open with all trial
+     * calls in progress
+     */
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < policy.getOpenDuration().toNanos()) {
+                return NOT_PERMITTED;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialCalls >= policy.getHalfOpenCalls()) {
+                return NOT_PERMITTED;
+            }
+            trialCalls++;
+        }
+        return generation;
+    }
+
+    public synchronized void onSuccess(long permit) {
+        if (isStale(permit)) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (++trialSuccesses >= policy.getHalfOpenCalls()) {
+                transition(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(long permit) {
+        if (isStale(permit)) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recordedCalls >= policy.getMinimumCalls() && failureRate() >= policy.getFailureRateThreshold()) {
+                transition(State.OPEN);
+            }
+        }
+    }
+
+    /**
+     * Complete a permitted call which was not made, without recording an outcome
+     */
+    public synchronized void release(long permit) {
+        if (isStale(permit)) {
+            return;
+        }
+        if (state == State.HALF_OPEN && trialCalls > trialSuccesses) {
+            trialCalls--;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= policy.getOpenDuration().toNanos()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * @return fraction of failed calls in the sliding window, or 0 if no calls have been recorded
+     */
+    public synchronized double getFailureRate() {
+        return failureRate();
+    }
+
+    /**
+     * @return number of calls in the sliding window
+     */
+    public synchronized int getRecordedCalls() {
+        return recordedCalls;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failure) {
+        if (recordedCalls == failures.length) {
+            if (failures[position]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        failures[position] = failure;
+        if (failure) {
+            failedCalls++;
+        }
+        position = (position + 1) % failures.length;
+    }
+
+    private boolean isStale(long permit) {
+        if (permit != generation) {
+            LOGGER.debug("Ignoring outcome of call to {} admitted before the breaker changed to {}", name, state);
+            return true;
+        }
+        return false;
+    }
+
+    private double failureRate() {
+        return recordedCalls == 0 ? 0 : (double) failedCalls / recordedCalls;
+    }
+
+    private void transition(State next) {
+        if (next == State.OPEN) {
+            LOGGER.warn("Circuit breaker for {} opened, failure rate {}%, calls rejected for {}",
+                    name, Math.round(failureRate() * 100), policy.getOpenDuration());
+            openedAt = clock.getAsLong();
+        } else {
+            LOGGER.info("Circuit breaker for {} changed from {} to {}", name, state, next);
+        }
+        state = next;
+        generation++;
+        position = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+        trialCalls = 0;
+        trialSuccesses = 0;
+    }
+}
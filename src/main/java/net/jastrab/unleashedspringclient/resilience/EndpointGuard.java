@@ -0,0 +1,137 @@
+package net.jastrab.unleashedspringclient.resilience;
+
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and bulkhead for the requests to a single endpoint. Either may be absent.
+ * <p>
+ * Server errors (5xx) and I/O errors, including timeouts, count as failures. Any other outcome, including client errors,
+ * shows the endpoint is responding and counts as a success.
+ *
+ * @since 0.5.8
+ */
+public class EndpointGuard {
+    private final String endpoint;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final LongAdder circuitOpenRejections = new LongAdder();
+    private final LongAdder bulkheadRejections = new LongAdder();
+
+    EndpointGuard(String endpoint, CircuitBreakerPolicy policy, int maxConcurrentCalls, Duration maxWait) {
+        this.endpoint = endpoint;
+        this.circuitBreaker = policy == null ? null : new CircuitBreaker(endpoint, policy);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = maxConcurrentCalls > 0 ? new Semaphore(maxConcurrentCalls) : null;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Make a call if the circuit breaker is closed and the bulkhead has capacity
+     *
+     * @throws CallNotPermittedException if the call was rejected
+     */
+    public <T> T execute(Supplier<T> call) {
+        final long permit = circuitBreaker == null ? CircuitBreaker.NOT_PERMITTED : circuitBreaker.tryAcquire();
+        if (circuitBreaker != null && permit == CircuitBreaker.NOT_PERMITTED) {
+            circuitOpenRejections.increment();
+            throw new CallNotPermittedException(endpoint, CallNotPermittedException.Reason.CIRCUIT_OPEN);
+        }
+        if (!tryEnterBulkhead()) {
+            if (circuitBreaker != null) {
+                circuitBreaker.release(permit);
+            }
+            bulkheadRejections.increment();
+            throw new CallNotPermittedException(endpoint, CallNotPermittedException.Reason.BULKHEAD_FULL);
+        }
+        try {
+            final T result = call.get();
+            if (circuitBreaker != null) {
+                circuitBreaker.onSuccess(permit);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (circuitBreaker != null) {
+                if (isFailure(e)) {
+                    circuitBreaker.onFailure(permit);
+                } else {
+                    circuitBreaker.onSuccess(permit);
+                }
+            }
+            throw e;
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private boolean tryEnterBulkhead() {
+        if (bulkhead == null) {
+            return true;
+        }
+        try {
+            return maxWaitNanos <= 0
+                    ? bulkhead.tryAcquire()
+                    : bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    static boolean isFailure(RuntimeException e) {
+        if (e instanceof RestClientResponseException) {
+            return ((RestClientResponseException) e).getRawStatusCode() >= 500;
+        }
+        return e instanceof ResourceAccessException;
+    }
+
+    /**
+     * @return the path template of the endpoint, e.g. /Products/{guid}
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Optional<CircuitBreaker> getCircuitBreaker() {
+        return Optional.ofNullable(circuitBreaker);
+    }
+
+    /**
+     * @return maximum number of concurrent calls, or 0 if concurrency is not limited
+     */
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * @return number of calls which may start without waiting, or -1 if concurrency is not limited
+     */
+    public int getAvailableConcurrentCalls() {
+        return bulkhead == null ? -1 : bulkhead.availablePermits();
+    }
+
+    /**
+     * @return number of calls rejected because the circuit breaker was open
+     */
+    public long getCircuitOpenRejections() {
+        return circuitOpenRejections.sum();
+    }
+
+    /**
+     * @return number of calls rejected because the bulkhead was full
+     */
+    public long getBulkheadRejections() {
+        return bulkheadRejections.sum();
+    }
+}
@@ -0,0 +1,85 @@
+package net.jastrab.unleashedspringclient.resilience;
+
+import net.jastrab.unleashedspringclient.utils.PathTemplates;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps an {@link EndpointGuard} per endpoint, keyed by the path template of the request, so a degraded endpoint
+ * neither blocks threads waiting on timeouts nor affects requests to other endpoints.
+ *
+ * @since 0.5.8
+ */
+public class EndpointGuards {
+    private final CircuitBreakerPolicy policy;
+    private final int maxConcurrentCalls;
+    private final Duration maxWait;
+    private final Map<String, EndpointGuard> guards = new ConcurrentHashMap<>();
+    private final List<Consumer<EndpointGuard>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param policy             policy of the circuit breakers, or null to disable circuit breaking
+     * @param maxConcurrentCalls maximum number of concurrent calls per endpoint, or 0 to not limit concurrency
+     * @param maxWait            maximum time a call waits for the bulkhead before being rejected
+     */
+    public EndpointGuards(CircuitBreakerPolicy policy, int maxConcurrentCalls, Duration maxWait) {
+        if (maxConcurrentCalls < 0) {
+            throw new IllegalArgumentException("Max concurrent calls must not be negative");
+        }
+        this.policy = policy;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWait = Objects.requireNonNull(maxWait, "Max wait cannot be null");
+    }
+
+    /**
+     * Make a call to an endpoint through its guard
+     *
+     * @param path request path, e.g. /Products/6c3a3990-5340-44f0-b67f-519c3b2bb335
+     * @throws CallNotPermittedException if the call was rejected
+     */
+    public <T> T execute(String path, Supplier<T> call) {
+        return guardFor(path).execute(call);
+    }
+
+    /**
+     * @return the guard of the endpoint of a request path, created if necessary
+     */
+    public EndpointGuard guardFor(String path) {
+        final String endpoint = PathTemplates.of(path);
+        final EndpointGuard guard = guards.get(endpoint);
+        if (guard != null) {
+            return guard;
+        }
+        synchronized (this) {
+            final EndpointGuard existing = guards.get(endpoint);
+            if (existing != null) {
+                return existing;
+            }
+            final EndpointGuard created = new EndpointGuard(endpoint, policy, maxConcurrentCalls, maxWait);
+            guards.put(endpoint, created);
+            listeners.forEach(listener -> listener.accept(created));
+            return created;
+        }
+    }
+
+    /**
+     * Register a listener called with every existing guard, and with each guard created later, e.g. to bind metrics
+     */
+    public synchronized void addListener(Consumer<EndpointGuard> listener) {
+        guards.values().forEach(listener);
+        listeners.add(listener);
+    }
+
+    public Collection<EndpointGuard> getGuards() {
+        return Collections.unmodifiableCollection(guards.values());
+    }
+}
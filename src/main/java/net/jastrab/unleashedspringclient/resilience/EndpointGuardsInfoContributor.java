@@ -0,0 +1,50 @@
+package net.jastrab.unleashedspringclient.resilience;
+
+import net.jastrab.unleashedspringclient.client.UnleashedClient;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exposes the circuit breaker and bulkhead state of every endpoint in the actuator info endpoint, under
+ * {@code unleashed.endpoints}. Nothing is contributed if the client has no endpoint guards.
+ *
+ * @since 0.5.8
+ */
+public class EndpointGuardsInfoContributor implements InfoContributor {
+    private final UnleashedClient client;
+
+    public EndpointGuardsInfoContributor(UnleashedClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        client.getEndpointGuards().ifPresent(guards -> contribute(builder, guards));
+    }
+
+    private static void contribute(Info.Builder builder, EndpointGuards guards) {
+        final Map<String, Object> endpoints = new TreeMap<>();
+        guards.getGuards().forEach(guard -> endpoints.put(guard.getEndpoint(), details(guard)));
+        builder.withDetail("unleashed", Map.of("endpoints", endpoints));
+    }
+
+    private static Map<String, Object> details(EndpointGuard guard) {
+        final Map<String, Object> details = new LinkedHashMap<>();
+        guard.getCircuitBreaker().ifPresent(breaker -> {
+            details.put("state", breaker.getState());
+            details.put("failureRate", breaker.getFailureRate());
+            details.put("recordedCalls", breaker.getRecordedCalls());
+            details.put("circuitOpenRejections", guard.getCircuitOpenRejections());
+        });
+        if (guard.getMaxConcurrentCalls() > 0) {
+            details.put("maxConcurrentCalls", guard.getMaxConcurrentCalls());
+            details.put("availableConcurrentCalls", guard.getAvailableConcurrentCalls());
+            details.put("bulkheadRejections", guard.getBulkheadRejections());
+        }
+        return details;
+    }
+}
@@ -0,0 +1,87 @@
+package net.jastrab.unleashedspringclient.retry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Executes requests according to a {@link RetryPolicy} and records how often and how long requests were retried
+ */
+public class Retrier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Retrier.class);
+    private final RetryPolicy policy;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder backoffNanos = new LongAdder();
+
+    public Retrier(RetryPolicy policy) {
+        this.policy = Objects.requireNonNull(policy, "RetryPolicy cannot be null");
+    }
+
+    /**
+     * Execute a call, retrying transient failures if the policy permits retries for the HTTP method. The exception
+     * from the final attempt is rethrown once attempts or the time budget are exhausted.
+     */
+    public <T> T execute(HttpMethod method, Supplier<T> call) {
+        if (!policy.isRetryable(method)) {
+            return call.get();
+        }
+        final long start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (!policy.isRetryable(e)) {
+                    throw e;
+                }
+                final long delay = policy.backoffNanos(attempt, RetryPolicy.retryAfter(e));
+                if (attempt >= policy.getMaxAttempts()
+                        || System.nanoTime() - start + delay > policy.getMaxElapsed().toNanos()) {
+                    LOGGER.warn("Retries exhausted for {} request after {} attempts", method, attempt);
+                    exhausted.increment();
+                    throw e;
+                }
+                LOGGER.debug("Retrying {} request in {} ms (attempt {} failed: {})",
+                        method, TimeUnit.NANOSECONDS.toMillis(delay), attempt, e.getMessage());
+                retries.increment();
+                backoffNanos.add(delay);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public RetryPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return total number of retry attempts made
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * @return number of requests which failed after exhausting their attempts or time budget
+     */
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+
+    /**
+     * @return total time spent waiting between attempts, in nanoseconds
+     */
+    public long getBackoffNanos() {
+        return backoffNanos.sum();
+    }
+}
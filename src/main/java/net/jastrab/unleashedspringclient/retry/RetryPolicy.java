@@ -0,0 +1,199 @@
+package net.jastrab.unleashedspringclient.retry;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Describes which failed requests are retried and how long to wait between attempts.
+ * <p>
+ * Delays grow exponentially from the initial backoff up to the maximum backoff, with a random jitter applied. A
+ * Retry-After header on the failed response takes precedence over the computed delay.
+ */
+public class RetryPolicy {
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final double multiplier;
+    private final Duration maxBackoff;
+    private final double jitter;
+    private final Duration maxElapsed;
+    private final Set<HttpMethod> methods;
+    private final Set<Integer> statuses;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.multiplier = builder.multiplier;
+        this.maxBackoff = builder.maxBackoff;
+        this.jitter = builder.jitter;
+        this.maxElapsed = builder.maxElapsed;
+        this.methods = Set.copyOf(builder.methods);
+        this.statuses = Set.copyOf(builder.statuses);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a policy which never retries
+     */
+    public static RetryPolicy none() {
+        return builder().maxAttempts(1).build();
+    }
+
+    public boolean isRetryable(HttpMethod method) {
+        return maxAttempts > 1 && methods.contains(method);
+    }
+
+    /**
+     * @return true if the exception represents a transient failure, either a retryable status or an I/O error
+     */
+    public boolean isRetryable(RuntimeException exception) {
+        if (exception instanceof RestClientResponseException) {
+            return statuses.contains(((RestClientResponseException) exception).getRawStatusCode());
+        }
+        return exception instanceof ResourceAccessException;
+    }
+
+    /**
+     * Compute the delay before the next attempt
+     *
+     * @param attempt    the attempt which just failed, starting from 1
+     * @param retryAfter delay requested by the server, if any
+     * @return delay in nanoseconds
+     */
+    public long backoffNanos(int attempt, Optional<Duration> retryAfter) {
+        if (retryAfter.isPresent()) {
+            return retryAfter.get().toNanos();
+        }
+        final double exponential = initialBackoff.toNanos() * Math.pow(multiplier, attempt - 1);
+        final double capped = Math.min(exponential, maxBackoff.toNanos());
+        final double jittered = capped - capped * jitter * ThreadLocalRandom.current().nextDouble();
+
+        return (long) jittered;
+    }
+
+    /**
+     * Parse the Retry-After header of a failed response, given either in seconds or as an HTTP date
+     */
+    public static Optional<Duration> retryAfter(RuntimeException exception) {
+        if (!(exception instanceof RestClientResponseException)) {
+            return Optional.empty();
+        }
+        final HttpHeaders headers = ((RestClientResponseException) exception).getResponseHeaders();
+        final String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException ignored) {
+            // Not delta-seconds, try HTTP-date
+        }
+        try {
+            final ZonedDateTime retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            final Duration delay = Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt);
+            return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+        } catch (DateTimeParseException ignored) {
+            return Optional.empty();
+        }
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getMaxElapsed() {
+        return maxElapsed;
+    }
+
+    public Set<HttpMethod> getMethods() {
+        return methods;
+    }
+
+    public Set<Integer> getStatuses() {
+        return statuses;
+    }
+
+    public static class Builder {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(500);
+        private double multiplier = 2.0;
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        private double jitter = 0.5;
+        private Duration maxElapsed = Duration.ofSeconds(60);
+        private Set<HttpMethod> methods = EnumSet.of(HttpMethod.GET);
+        private Set<Integer> statuses = Set.of(429, 502, 503, 504);
+
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder initialBackoff(Duration initialBackoff) {
+            this.initialBackoff = Objects.requireNonNull(initialBackoff);
+            return this;
+        }
+
+        public Builder multiplier(double multiplier) {
+            if (multiplier < 1) {
+                throw new IllegalArgumentException("Multiplier must be at least 1");
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        public Builder maxBackoff(Duration maxBackoff) {
+            this.maxBackoff = Objects.requireNonNull(maxBackoff);
+            return this;
+        }
+
+        /**
+         * @param jitter fraction of the computed delay which may be randomly removed, between 0 and 1
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("Jitter must be between 0 and 1");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * @param maxElapsed total time budget for all attempts, no retry is made which would exceed it
+         */
+        public Builder maxElapsed(Duration maxElapsed) {
+            this.maxElapsed = Objects.requireNonNull(maxElapsed);
+            return this;
+        }
+
+        public Builder methods(Set<HttpMethod> methods) {
+            this.methods = Objects.requireNonNull(methods);
+            return this;
+        }
+
+        public Builder statuses(Set<Integer> statuses) {
+            this.statuses = Objects.requireNonNull(statuses);
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
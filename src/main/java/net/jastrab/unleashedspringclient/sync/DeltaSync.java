@@ -0,0 +1,110 @@
+package net.jastrab.unleashedspringclient.sync;
+
+import net.jastrab.unleashed.api.GetProductRequest;
+import net.jastrab.unleashed.api.http.PaginatedUnleashedRequest;
+import net.jastrab.unleashed.api.models.Product;
+import net.jastrab.unleashedspringclient.client.UnleashedClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps local snapshots of Unleashed resources up to date by fetching only the items modified since the previous
+ * synchronization.
+ * <p>
+ * The first synchronization of a resource fetches every item. Each synchronization records its start time (less a
+ * configurable overlap, to tolerate clock skew and items modified while the synchronization was running) as the
+ * high-water mark for the next. A synchronization which fails, including with a client error response, leaves the
+ * snapshot and its high-water mark unchanged. Items deleted in Unleashed are not detected, use {@link #resync} to
+ * rebuild a snapshot from scratch.
+ *
+ * @since 0.5.8
+ */
+public class DeltaSync {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeltaSync.class);
+    public static final Duration DEFAULT_OVERLAP = Duration.ofMinutes(5);
+    public static final String PRODUCTS = "products";
+    private final UnleashedClient client;
+    private final FileSnapshotStore store;
+    private final Duration overlap;
+    private final Map<String, Snapshot<?>> snapshots = new ConcurrentHashMap<>();
+
+    public DeltaSync(UnleashedClient client, FileSnapshotStore store) {
+        this(client, store, DEFAULT_OVERLAP);
+    }
+
+    public DeltaSync(UnleashedClient client, FileSnapshotStore store, Duration overlap) {
+        this.client = Objects.requireNonNull(client, "Client cannot be null");
+        this.store = Objects.requireNonNull(store, "Store cannot be null");
+        this.overlap = Objects.requireNonNull(overlap, "Overlap cannot be null");
+    }
+
+    /**
+     * Synchronize the product catalog, keyed by product code
+     */
+    public Snapshot<Product> syncProducts() {
+        return sync(PRODUCTS, GetProductRequest.builder().build(), Product.class, Product::getProductCode);
+    }
+
+    /**
+     * Synchronize a resource, merging the items modified since the last synchronization into its snapshot
+     *
+     * @param resource name of the snapshot
+     * @param request  request for the complete list of items
+     * @param itemType type of the items
+     * @param key      natural key of an item, used to merge modified items into the snapshot
+     * @param <T>      type of the items
+     * @return the updated snapshot
+     * @throws net.jastrab.unleashedspringclient.client.UnleashedApiException if Unleashed answers with a client error,
+     *                                                                        in which case the snapshot is unchanged
+     */
+    public synchronized <T> Snapshot<T> sync(String resource,
+                                             PaginatedUnleashedRequest<T> request,
+                                             Class<T> itemType,
+                                             Function<T, String> key) {
+        final Snapshot<T> current = read(resource, itemType);
+        final Instant started = Instant.now();
+
+        final List<T> modified = current.getHighWaterMark()
+                .map(mark -> client.getItemsModifiedSince(request, mark))
+                .orElseGet(() -> client.getItemsOrThrow(request));
+
+        final Map<String, T> items = new LinkedHashMap<>(current.asMap());
+        modified.forEach(item -> items.put(key.apply(item), item));
+        final Snapshot<T> updated = new Snapshot<>(resource, started.minus(overlap), items);
+        store.save(updated);
+        snapshots.put(resource, updated);
+
+        LOGGER.info("Synchronized {}: {} modified items since {}, {} items in snapshot", resource, modified.size(),
+                current.getHighWaterMark().map(Instant::toString).orElse("(full sync)"), updated.size());
+        return updated;
+    }
+
+    /**
+     * Discard the snapshot of a resource and synchronize it from scratch
+     */
+    public synchronized <T> Snapshot<T> resync(String resource,
+                                               PaginatedUnleashedRequest<T> request,
+                                               Class<T> itemType,
+                                               Function<T, String> key) {
+        snapshots.remove(resource);
+        store.delete(resource);
+        return sync(resource, request, itemType, key);
+    }
+
+    /**
+     * Read the current snapshot of a resource without contacting Unleashed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Snapshot<T> read(String resource, Class<T> itemType) {
+        return (Snapshot<T>) snapshots.computeIfAbsent(resource, name -> store.load(name, itemType));
+    }
+}
@@ -0,0 +1,148 @@
+package net.jastrab.unleashedspringclient.sync;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Stores each {@link Snapshot} as a JSON file named after its resource in a directory.
+ * <p>
+ * Snapshots are written to a temporary file which then replaces the previous snapshot, so a crash during a write never
+ * leaves a partially written snapshot behind. Snapshots are streamed in both directions, so only the items themselves
+ * are held in memory and never an intermediate JSON tree.
+ *
+ * @since 0.5.8
+ */
+public class FileSnapshotStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSnapshotStore.class);
+    private static final String HIGH_WATER_MARK = "highWaterMark";
+    private static final String ITEMS = "items";
+    private final Path directory;
+    private final ObjectMapper mapper;
+
+    public FileSnapshotStore(Path directory, ObjectMapper mapper) {
+        this.directory = Objects.requireNonNull(directory, "Directory cannot be null");
+        this.mapper = Objects.requireNonNull(mapper, "ObjectMapper cannot be null");
+    }
+
+    /**
+     * Load the snapshot of a resource
+     *
+     * @return the stored snapshot, or an empty snapshot if none has been stored
+     */
+    public <T> Snapshot<T> load(String resource, Class<T> itemType) {
+        final Path file = file(resource);
+        if (!Files.exists(file)) {
+            return Snapshot.empty(resource);
+        }
+        final JavaType itemsType = mapper.getTypeFactory().constructMapType(LinkedHashMap.class, String.class, itemType);
+        try (JsonParser parser = mapper.getFactory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+            Instant highWaterMark = null;
+            Map<String, T> items = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                final JsonToken value = parser.nextToken();
+                if (HIGH_WATER_MARK.equals(field) && value != JsonToken.VALUE_NULL) {
+                    highWaterMark = Instant.parse(parser.getText());
+                } else if (ITEMS.equals(field) && value != JsonToken.VALUE_NULL) {
+                    items = mapper.readerFor(itemsType).readValue(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new Snapshot<>(resource, highWaterMark, items == null ? Map.of() : items);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Store the snapshot of a resource, replacing any previous snapshot. Items with a null key cannot be stored and are
+     * skipped.
+     */
+    public void save(Snapshot<?> snapshot) {
+        final Path file = file(snapshot.getResource());
+        try {
+            Files.createDirectories(directory);
+            final Path temp = Files.createTempFile(directory, snapshot.getResource(), ".tmp");
+            try {
+                write(snapshot, temp);
+                move(temp, file);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write snapshot " + file, e);
+        }
+    }
+
+    public void delete(String resource) {
+        try {
+            Files.deleteIfExists(file(resource));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete snapshot " + resource, e);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private Path file(String resource) {
+        return directory.resolve(resource.toLowerCase().replaceAll("[^a-z0-9_-]", "_") + ".json");
+    }
+
+    private void write(Snapshot<?> snapshot, Path target) throws IOException {
+        final ObjectWriter itemWriter = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        int skipped = 0;
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(target.toFile(), JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            if (snapshot.getHighWaterMark().isPresent()) {
+                generator.writeStringField(HIGH_WATER_MARK, snapshot.getHighWaterMark().get().toString());
+            }
+            generator.writeObjectFieldStart(ITEMS);
+            for (Map.Entry<String, ?> item : snapshot.asMap().entrySet()) {
+                if (item.getKey() == null) {
+                    skipped++;
+                    continue;
+                }
+                generator.writeFieldName(item.getKey());
+                itemWriter.writeValue(generator, item.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        if (skipped > 0) {
+            LOGGER.warn("Skipped {} items without a key in snapshot {}", skipped, snapshot.getResource());
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package net.jastrab.unleashedspringclient.sync;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local copy of a resource type, keyed by a natural key, along with the high-water mark of the last synchronization
+ *
+ * @param <T> type of the items in the snapshot
+ * @since 0.5.8
+ */
+public class Snapshot<T> {
+    private final String resource;
+    private final Instant highWaterMark;
+    private final Map<String, T> items;
+
+    public Snapshot(String resource, Instant highWaterMark, Map<String, T> items) {
+        this.resource = resource;
+        this.highWaterMark = highWaterMark;
+        this.items = Collections.unmodifiableMap(new LinkedHashMap<>(items));
+    }
+
+    static <T> Snapshot<T> empty(String resource) {
+        return new Snapshot<>(resource, null, Map.of());
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    /**
+     * @return the instant up to which items have been synchronized, or empty if the resource has never been synchronized
+     */
+    public Optional<Instant> getHighWaterMark() {
+        return Optional.ofNullable(highWaterMark);
+    }
+
+    public Optional<T> get(String key) {
+        return Optional.ofNullable(items.get(key));
+    }
+
+    public Collection<T> getItems() {
+        return items.values();
+    }
+
+    Map<String, T> asMap() {
+        return items;
+    }
+
+    public int size() {
+        return items.size();
+    }
+}
@@ -0,0 +1,38 @@
+package net.jastrab.unleashedspringclient.utils;
+
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the template of a resource path, so paths of the same resource can be grouped
+ */
+public final class PathTemplates {
+    private static final Pattern GUID = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern NUMBER = Pattern.compile("/\\d+(?=/|$)");
+
+    private PathTemplates() {
+    }
+
+    /**
+     * Replace identifiers in a resource path, e.g. /Products/6c3a3990-5340-44f0-b67f-519c3b2bb335 -> /Products/{guid}
+     * and /Products/Page/2 -> /Products/Page/{id}
+     */
+    public static String of(String path) {
+        if (path == null) {
+            return "none";
+        }
+        return NUMBER.matcher(GUID.matcher(path).replaceAll("{guid}")).replaceAll("/{id}");
+    }
+
+    /**
+     * @return the resource of a path, its first segment in lower case, e.g. products for /Products/Page/2
+     */
+    public static String resourceOf(String path) {
+        if (path == null) {
+            return "";
+        }
+        final String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        final int end = trimmed.indexOf('/');
+        return (end < 0 ? trimmed : trimmed.substring(0, end)).toLowerCase();
+    }
+}
@@ -1,14 +1,37 @@
 package net.jastrab.unleashedspringclient.utils;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public final class ReflectUtils {
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * Accessor plans are resolved once per class and reused for every merge of that class
+     */
+    private static final ClassValue<AccessorPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected AccessorPlan computeValue(Class<?> type) {
+            return new AccessorPlan(type);
+        }
+    };
+
     /**
      * Update beans of entity1 with any non-null values declared in entity2
      *
@@ -19,33 +42,157 @@ public final class ReflectUtils {
      * @return reference to entity1
      */
     public static <T> T updateEntity(T entity1, T entity2, String... excluded) {
+        mergeEntity(entity1, entity2, excluded);
+
+        return entity1;
+    }
+
+    /**
+     * Update beans of entity1 with any non-null values declared in entity2 which differ from the current value in
+     * entity1, see {@link #updateEntity(Object, Object, String...)}
+     * <p>
+     * Properties declared by superclasses are included. The getters and setters of each class are resolved once and
+     * cached, subsequent merges of the same class do not use reflection.
+     *
+     * @param entity1  the entity to be updated with non-null values from entity2
+     * @param entity2  the entity with values to be used for updating
+     * @param excluded array of property names which should be excluded from updates
+     * @param <T>      a java bean with getters/setters
+     * @return names of the properties of entity1 which were changed, empty if entity1 was not modified
+     * @since 0.5.8
+     */
+    public static <T> Set<String> mergeEntity(T entity1, T entity2, String... excluded) {
+        final Set<String> changed = new LinkedHashSet<>();
+        for (Property property : PLANS.get(entity1.getClass()).properties(excluded)) {
+            final Object value = property.get(entity2);
+            if (value != null && !valueEquals(property.get(entity1), value) && property.set(entity1, value)) {
+                changed.add(property.name);
+            }
+        }
 
-        List<String> excludedGetters = Arrays.stream(excluded)
-                .map(String::toLowerCase)
-                .map(value -> "get" + value)
-                .collect(Collectors.toList());
+        return changed;
+    }
 
-        Arrays.stream(entity1.getClass().getDeclaredMethods())
-                .filter(method -> method.getName().startsWith("get"))
-                .filter(method -> !excludedGetters.contains(method.getName().toLowerCase()))
-                .forEach(getter -> safeInvoke(getter, entity2).map(value -> {
+    /**
+     * Compare property values, treating numerically equal BigDecimals of different scale as equal
+     */
+    static boolean valueEquals(Object current, Object value) {
+        if (current instanceof BigDecimal && value instanceof BigDecimal) {
+            return ((BigDecimal) current).compareTo((BigDecimal) value) == 0;
+        }
+        return Objects.equals(current, value);
+    }
+
+    /**
+     * The readable and writable properties of a class, with the property list for each set of exclusions memoized
+     */
+    private static final class AccessorPlan {
+        private static final Property[] EMPTY = new Property[0];
+        private final Property[] properties;
+        private final Map<List<String>, Property[]> byExclusions = new ConcurrentHashMap<>();
+
+        AccessorPlan(Class<?> type) {
+            this.properties = resolveProperties(type).toArray(EMPTY);
+        }
+
+        Property[] properties(String... excluded) {
+            if (excluded.length == 0) {
+                return properties;
+            }
+            return byExclusions.computeIfAbsent(Arrays.asList(excluded), names -> {
+                final Set<String> excludedNames = names.stream()
+                        .map(String::toLowerCase)
+                        .collect(Collectors.toSet());
+                return Arrays.stream(properties)
+                        .filter(property -> !excludedNames.contains(property.lowerCaseName))
+                        .toArray(Property[]::new);
+            });
+        }
+
+        private static List<Property> resolveProperties(Class<?> type) {
+            final List<Property> resolved = new ArrayList<>();
+            final Set<String> seen = new HashSet<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Method getter : current.getDeclaredMethods()) {
+                    if (!isGetter(getter) || !seen.add(getter.getName())) {
+                        continue;
+                    }
+                    final String name = getter.getName().substring(3);
+                    final Method setter = findSetter(type, "set" + name, getter.getReturnType());
+                    if (setter == null) {
+                        continue;
+                    }
                     try {
-                        final Method setter = entity1.getClass()
-                                .getDeclaredMethod(getter.getName().replaceFirst("get", "set"), getter.getReturnType());
-                        return safeInvoke(setter, entity1, value);
-                    } catch (NoSuchMethodException ignored) {
-                        return Optional.empty();
+                        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                        resolved.add(new Property(name,
+                                lookup.unreflect(getter).asType(GETTER_TYPE),
+                                lookup.unreflect(setter).asType(SETTER_TYPE)));
+                    } catch (IllegalAccessException ignored) {
+                        // Property is not publicly accessible
                     }
-                }));
+                }
+            }
+            return resolved;
+        }
 
-        return entity1;
+        private static boolean isGetter(Method method) {
+            return method.getName().startsWith("get")
+                    && method.getName().length() > 3
+                    && method.getParameterCount() == 0
+                    && method.getReturnType() != void.class
+                    && Modifier.isPublic(method.getModifiers())
+                    && !Modifier.isStatic(method.getModifiers())
+                    && !method.isBridge()
+                    && !method.isSynthetic();
+        }
+
+        private static Method findSetter(Class<?> type, String name, Class<?> parameterType) {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                try {
+                    final Method setter = current.getDeclaredMethod(name, parameterType);
+                    if (Modifier.isPublic(setter.getModifiers()) && !Modifier.isStatic(setter.getModifiers())) {
+                        return setter;
+                    }
+                } catch (NoSuchMethodException ignored) {
+                    // Not declared at this level
+                }
+            }
+            return null;
+        }
     }
 
-    private static Optional<Object> safeInvoke(Method method, Object target, Object... args) {
-        try {
-            return Optional.ofNullable(method.invoke(target, args));
-        } catch (IllegalAccessException | InvocationTargetException ignored) {
-            return Optional.empty();
+    private static final class Property {
+        private final String name;
+        private final String lowerCaseName;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        Property(String name, MethodHandle getter, MethodHandle setter) {
+            this.name = name;
+            this.lowerCaseName = name.toLowerCase();
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        Object get(Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable ignored) {
+                return null;
+            }
+        }
+
+        boolean set(Object target, Object value) {
+            try {
+                setter.invokeExact(target, value);
+                return true;
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable ignored) {
+                return false;
+            }
         }
     }
 }
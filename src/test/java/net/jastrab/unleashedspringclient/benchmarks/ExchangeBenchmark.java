@@ -0,0 +1,139 @@
+package net.jastrab.unleashedspringclient.benchmarks;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import net.jastrab.unleashed.api.GetProductRequest;
+import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
+import net.jastrab.unleashed.api.http.PaginatedUnleashedRequest;
+import net.jastrab.unleashed.api.http.PaginatedUnleashedResponse;
+import net.jastrab.unleashed.api.http.UnleashedRequest;
+import net.jastrab.unleashed.api.models.Product;
+import net.jastrab.unleashed.api.security.ApiCredentialImpl;
+import net.jastrab.unleashedspringclient.client.UnleashedAuthInterceptor;
+import net.jastrab.unleashedspringclient.client.UnleashedClient;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Full request/response path for a single product against an in-process WireMock stub, comparing
+ * {@link UnleashedClient#getItem} (cached response readers) with the previous implementation of {@code getItem}, which
+ * created a {@link ParameterizedTypeReference} and resolved the generic response type through the message converters
+ * on every request.
+ * <p>
+ * The baseline reproduces the previous client code path step for step (request headers and entity, URI construction,
+ * retrier and first item selection) over a {@link RestTemplate} configured exactly as the client's, so the two
+ * benchmarks differ only in how the response is read.
+ * <p>
+ * Run with {@code -prof gc} to compare allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExchangeBenchmark {
+    private WireMockServer server;
+    private UnleashedClient client;
+    private RestTemplate restTemplate;
+    private PaginatedUnleashedRequest<Product> request;
+    private String baseUri;
+
+    @Setup
+    public void setup() {
+        server = new WireMockServer(options().dynamicPort().withRootDirectory("src/test/resources"));
+        server.start();
+        server.stubFor(get(urlPathEqualTo("/Products/"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(200)
+                        .withBodyFile("product_07-012.json")));
+        baseUri = "http://localhost:" + server.port();
+
+        final MappingJackson2HttpMessageConverter converter =
+                new MappingJackson2HttpMessageConverter(new UnleashedObjectMapper());
+        final RestTemplateBuilder builder = new RestTemplateBuilder()
+                .additionalInterceptors(new UnleashedAuthInterceptor(new ApiCredentialImpl("id", "key")));
+        client = new UnleashedClient(baseUri, builder, converter);
+        restTemplate = builder
+                .defaultHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
+                .messageConverters(converter)
+                .build();
+        request = GetProductRequest.builder().productCode("07-012").build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public Product cachedReaders() {
+        return client.getItem(request).orElseThrow();
+    }
+
+    @Benchmark
+    public Product typeReferencePerRequest() {
+        return previousGetItem(request).orElseThrow();
+    }
+
+    /**
+     * {@code getItem} and {@code exchange} as they were before the response readers were introduced
+     */
+    private <T> Optional<T> previousGetItem(PaginatedUnleashedRequest<T> request) {
+        final Optional<PaginatedUnleashedResponse<T>> response = previousExchange(request);
+        return response.map(PaginatedUnleashedResponse::getItems).flatMap(items -> items.stream().findFirst());
+    }
+
+    private <T, R> Optional<R> previousExchange(UnleashedRequest<T> request) {
+        final HttpMethod method = HttpMethod.valueOf(request.getHttpMethod().name());
+        final HttpHeaders headers = new HttpHeaders(new LinkedMultiValueMap<>(request.getHeaders()));
+        final URI requestUri = UriComponentsBuilder
+                .fromHttpUrl(baseUri)
+                .path(request.getPath())
+                .query(request.getQuery())
+                .build()
+                .toUri();
+
+        final ResponseEntity<R> response = client.getRetrier().execute(method, () -> restTemplate.exchange(
+                requestUri,
+                method,
+                new HttpEntity<>(request.getRequestBody(), headers),
+                new ParameterizedTypeReference<R>() {
+                    @Override
+                    public Type getType() {
+                        return request.getResponseType();
+                    }
+                }
+        ));
+        return Optional.ofNullable(response.getBody());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ExchangeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
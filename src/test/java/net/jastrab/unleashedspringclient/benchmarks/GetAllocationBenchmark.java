@@ -0,0 +1,129 @@
+package net.jastrab.unleashedspringclient.benchmarks;
+
+import net.jastrab.unleashed.api.GetProductRequest;
+import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
+import net.jastrab.unleashed.api.http.PaginatedUnleashedRequest;
+import net.jastrab.unleashed.api.models.Product;
+import net.jastrab.unleashedspringclient.client.UnleashedClient;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes allocated by the client for a simple single product GET, with debug logging disabled. The response is served
+ * by an in-memory request factory so only the client side of the request is measured.
+ * <p>
+ * {@link #main} runs the benchmark with the GC profiler and fails if the normalized allocation rate exceeds the
+ * measured baseline stored in {@code -Dunleashed.allocationBaseline} by more than
+ * {@code -Dunleashed.allocationTolerance} (default {@value #DEFAULT_TOLERANCE}), or {@code -Dunleashed.maxBytesPerOp}
+ * if set. With {@code -Dunleashed.recordAllocationBaseline=true} the measured allocation is recorded as the new
+ * baseline instead, which is required on the first run and after intended changes to the allocation of the request
+ * path. The benchmarks profile runs it as a check before the other benchmarks.
+ * <p>
+ * The test logging configuration enables debug logging for the client, which is turned off in the fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.log.net.jastrab=info")
+public class GetAllocationBenchmark {
+    static final double DEFAULT_TOLERANCE = 0.05;
+    private static final String ALLOCATION_RESULT = "·gc.alloc.rate.norm";
+
+    private UnleashedClient client;
+    private PaginatedUnleashedRequest<Product> request;
+
+    @Setup
+    public void setup() throws IOException {
+        final byte[] body;
+        try (InputStream in = GetAllocationBenchmark.class.getResourceAsStream("/__files/product_07-012.json")) {
+            body = in.readAllBytes();
+        }
+        final ClientHttpRequestFactory requestFactory = (uri, method) -> {
+            final MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            final MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(response);
+            return request;
+        };
+        client = new UnleashedClient("http://localhost",
+                new RestTemplateBuilder().requestFactory(() -> requestFactory),
+                new MappingJackson2HttpMessageConverter(new UnleashedObjectMapper()));
+        request = GetProductRequest.builder().productCode("07-012").build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Product getItem() {
+        return client.getItem(request).orElseThrow();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        final Path baseline = Path.of(System.getProperty("unleashed.allocationBaseline",
+                "src/test/resources/benchmarks/get-allocation-baseline.txt"));
+        final boolean record = Boolean.getBoolean("unleashed.recordAllocationBaseline");
+        for (RunResult result : new Runner(new OptionsBuilder()
+                .include(GetAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run()) {
+            final Result<?> allocation = result.getSecondaryResults().get(ALLOCATION_RESULT);
+            if (allocation == null) {
+                throw new IllegalStateException("GC profiler did not report " + ALLOCATION_RESULT);
+            }
+            final String benchmark = result.getParams().getBenchmark();
+            if (record) {
+                Files.createDirectories(baseline.toAbsolutePath().getParent());
+                Files.writeString(baseline, String.format("%.0f%n", allocation.getScore()));
+                System.out.printf("%s: %.0f bytes/op recorded as baseline in %s%n",
+                        benchmark, allocation.getScore(), baseline);
+                continue;
+            }
+            final long maxBytesPerOp = maxBytesPerOp(baseline);
+            System.out.printf("%s: %.0f bytes/op (limit %d)%n", benchmark, allocation.getScore(), maxBytesPerOp);
+            if (allocation.getScore() > maxBytesPerOp) {
+                throw new IllegalStateException(String.format("%s allocated %.0f bytes/op, exceeding the limit of %d",
+                        benchmark, allocation.getScore(), maxBytesPerOp));
+            }
+        }
+    }
+
+    /**
+     * @return the explicit limit, or the recorded baseline plus the tolerance
+     */
+    private static long maxBytesPerOp(Path baseline) throws IOException {
+        final Long explicit = Long.getLong("unleashed.maxBytesPerOp");
+        if (explicit != null) {
+            return explicit;
+        }
+        if (!Files.exists(baseline)) {
+            throw new IllegalStateException("No allocation baseline at " + baseline.toAbsolutePath()
+                    + ", record one with -Dunleashed.recordAllocationBaseline=true");
+        }
+        final double tolerance = Double.parseDouble(System.getProperty("unleashed.allocationTolerance",
+                String.valueOf(DEFAULT_TOLERANCE)));
+        return (long) Math.ceil(Double.parseDouble(Files.readString(baseline).trim()) * (1 + tolerance));
+    }
+}
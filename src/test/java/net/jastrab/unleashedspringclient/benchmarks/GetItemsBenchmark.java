@@ -0,0 +1,65 @@
+package net.jastrab.unleashedspringclient.benchmarks;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import net.jastrab.unleashed.api.GetProductRequest;
+import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
+import net.jastrab.unleashed.api.models.Product;
+import net.jastrab.unleashed.api.security.ApiCredentialImpl;
+import net.jastrab.unleashedspringclient.client.UnleashedAuthInterceptor;
+import net.jastrab.unleashedspringclient.client.UnleashedClient;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * End-to-end {@link UnleashedClient#getItems} of a three page product response, served by an in-process WireMock
+ * server from the stubs in {@code src/test/resources/mappings}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GetItemsBenchmark {
+    private WireMockServer server;
+    private UnleashedClient client;
+    private GetProductRequest request;
+
+    @Setup
+    public void setup() {
+        server = new WireMockServer(options().dynamicPort().withRootDirectory("src/test/resources"));
+        server.start();
+
+        client = new UnleashedClient("http://localhost:" + server.port(),
+                new RestTemplateBuilder()
+                        .additionalInterceptors(new UnleashedAuthInterceptor(new ApiCredentialImpl("id", "key"))),
+                new MappingJackson2HttpMessageConverter(new UnleashedObjectMapper()));
+        request = GetProductRequest.builder().productGroup("Tools").build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public List<Product> getItems() {
+        return client.getItems(request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GetItemsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package net.jastrab.unleashedspringclient.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
+import net.jastrab.unleashed.api.http.PaginatedUnleashedResponse;
+import net.jastrab.unleashed.api.models.Product;
+import net.jastrab.unleashedspringclient.client.StreamingPageReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of deserializing a page of products into a materialized {@link PaginatedUnleashedResponse} compared to
+ * streaming each item to a consumer with {@link StreamingPageReader}. The page is built from the product in
+ * {@code product_07-012.json}, repeated to the page size.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation rate of the two approaches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageDeserializationBenchmark {
+    private static final String FIXTURE = "/__files/product_07-012.json";
+
+    @Param({"200", "1000"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private JavaType pageType;
+    private StreamingPageReader<Product> streamingReader;
+    private byte[] page;
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = new UnleashedObjectMapper();
+        pageType = mapper.getTypeFactory().constructParametricType(PaginatedUnleashedResponse.class, Product.class);
+        streamingReader = new StreamingPageReader<>(mapper, Product.class);
+
+        final ObjectNode fixture;
+        try (InputStream in = PageDeserializationBenchmark.class.getResourceAsStream(FIXTURE)) {
+            fixture = (ObjectNode) mapper.readTree(in);
+        }
+        final ObjectNode product = (ObjectNode) fixture.path("Items").get(0);
+        final ArrayNode items = mapper.createArrayNode();
+        for (int i = 0; i < pageSize; i++) {
+            items.add(product.deepCopy().put("ProductCode", "07-" + i));
+        }
+        fixture.set("Items", items);
+        ((ObjectNode) fixture.path("Pagination")).put("NumberOfItems", pageSize).put("PageSize", pageSize);
+        page = mapper.writeValueAsBytes(fixture);
+    }
+
+    @Benchmark
+    public PaginatedUnleashedResponse<Product> materialized() throws IOException {
+        return mapper.readValue(new ByteArrayInputStream(page), pageType);
+    }
+
+    @Benchmark
+    public StreamingPageReader.Page streaming(Blackhole blackhole) throws IOException {
+        return streamingReader.read(new ByteArrayInputStream(page), blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PageDeserializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
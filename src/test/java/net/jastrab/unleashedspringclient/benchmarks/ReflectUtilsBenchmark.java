@@ -0,0 +1,125 @@
+package net.jastrab.unleashedspringclient.benchmarks;
+
+import net.jastrab.unleashed.api.models.Product;
+import net.jastrab.unleashedspringclient.utils.ReflectUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Merge of two {@link Product} instances using the original reflective implementation of
+ * {@link ReflectUtils#updateEntity} compared to the cached method handle accessor plan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectUtilsBenchmark {
+
+    private static final int PAIR_BITS = 10;
+    /**
+     * Number of pre-built originals; a power of two so the next original is selected with a mask
+     */
+    private static final int PAIRS = 1 << PAIR_BITS;
+
+    private Product[] originals;
+    /**
+     * Two sets of updates with different values, applied to the originals on alternate passes
+     */
+    private Product[][] updates;
+    private int index;
+
+    /**
+     * Originals are built once per iteration rather than per invocation, as per-invocation setup costs more than the
+     * merge itself and would dominate the measurement. Each pass over the originals applies the other set of updates,
+     * so every merge changes the values of the original: the accessor plan skips setters for values which are already
+     * equal, which a repeated merge of the same pair would otherwise favour.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        originals = new Product[PAIRS];
+        updates = new Product[2][PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            final Product original = new Product("ABC-" + i);
+            original.setBarcode("123456");
+            original.setProductDescription("Original Description");
+            original.setWeight(1.0);
+            originals[i] = original;
+
+            updates[0][i] = update("ABC-" + i, "78901", "Updated Description", 2.0);
+            updates[1][i] = update("ABC-" + i, "65432", "Second Description", 3.0);
+        }
+        index = 0;
+    }
+
+    @Benchmark
+    public Product reflective() {
+        final int n = index++;
+        return legacyUpdateEntity(originals[n & (PAIRS - 1)], updates[(n >>> PAIR_BITS) & 1][n & (PAIRS - 1)], "Guid");
+    }
+
+    @Benchmark
+    public Product accessorPlan() {
+        final int n = index++;
+        return ReflectUtils.updateEntity(originals[n & (PAIRS - 1)], updates[(n >>> PAIR_BITS) & 1][n & (PAIRS - 1)],
+                "Guid");
+    }
+
+    private static Product update(String productCode, String barcode, String description, double depth) {
+        final Product update = new Product(productCode);
+        update.setBarcode(barcode);
+        update.setProductDescription(description);
+        update.setDepth(depth);
+        return update;
+    }
+
+    /**
+     * Implementation of ReflectUtils.updateEntity prior to the introduction of cached accessor plans
+     */
+    static <T> T legacyUpdateEntity(T entity1, T entity2, String... excluded) {
+        List<String> excludedGetters = Arrays.stream(excluded)
+                .map(String::toLowerCase)
+                .map(value -> "get" + value)
+                .collect(Collectors.toList());
+
+        Arrays.stream(entity1.getClass().getDeclaredMethods())
+                .filter(method -> method.getName().startsWith("get"))
+                .filter(method -> !excludedGetters.contains(method.getName().toLowerCase()))
+                .forEach(getter -> safeInvoke(getter, entity2).map(value -> {
+                    try {
+                        final Method setter = entity1.getClass()
+                                .getDeclaredMethod(getter.getName().replaceFirst("get", "set"), getter.getReturnType());
+                        return safeInvoke(setter, entity1, value);
+                    } catch (NoSuchMethodException ignored) {
+                        return Optional.empty();
+                    }
+                }));
+
+        return entity1;
+    }
+
+    private static Optional<Object> safeInvoke(Method method, Object target, Object... args) {
+        try {
+            return Optional.ofNullable(method.invoke(target, args));
+        } catch (IllegalAccessException | InvocationTargetException ignored) {
+            return Optional.empty();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReflectUtilsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
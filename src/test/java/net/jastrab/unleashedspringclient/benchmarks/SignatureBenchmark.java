@@ -0,0 +1,57 @@
+package net.jastrab.unleashedspringclient.benchmarks;
+
+import net.jastrab.unleashed.api.security.SignatureGenerator;
+import net.jastrab.unleashedspringclient.client.SignatureCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of signing a query string with {@link SignatureGenerator} compared to {@link SignatureCache}, with
+ * the LRU cache both disabled (thread-local Mac only) and enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+    private static final String API_KEY = "abc123def456/ghi789+jkl0==";
+
+    @Param({"productGroup=Tools&pageSize=200"})
+    private String query;
+
+    private SignatureCache uncached;
+    private SignatureCache cached;
+
+    @Setup
+    public void setup() {
+        uncached = new SignatureCache(API_KEY, 0);
+        cached = new SignatureCache(API_KEY);
+    }
+
+    @Benchmark
+    public String signatureGenerator() {
+        return SignatureGenerator.getSignature(API_KEY, query);
+    }
+
+    @Benchmark
+    public String threadLocalMac() {
+        return uncached.getSignature(query);
+    }
+
+    @Benchmark
+    public String cachedSignature() {
+        return cached.getSignature(query);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SignatureBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,64 @@
+package net.jastrab.unleashedspringclient.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the request URI in {@code UnleashedClient.exchange}, which parses the base URI on every request,
+ * compared to expanding a base URI which has been parsed once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriBuildingBenchmark {
+    private static final String BASE_URI = "https://api.unleashedsoftware.com";
+
+    @Param({"/Products/"})
+    private String path;
+
+    @Param({"productCode=07-012", "productGroup=Tools&pageSize=200"})
+    private String query;
+
+    private UriComponents base;
+
+    @Setup
+    public void setup() {
+        base = UriComponentsBuilder.fromHttpUrl(BASE_URI).build();
+    }
+
+    @Benchmark
+    public URI exchange() {
+        return UriComponentsBuilder
+                .fromHttpUrl(BASE_URI)
+                .path(path)
+                .query(query)
+                .build()
+                .toUri();
+    }
+
+    @Benchmark
+    public URI preParsedBase() {
+        return UriComponentsBuilder.newInstance()
+                .uriComponents(base)
+                .path(path)
+                .query(query)
+                .build()
+                .toUri();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UriBuildingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,99 @@
+package net.jastrab.unleashedspringclient.cache;
+
+import net.jastrab.unleashed.api.GetProductRequest;
+import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
+import net.jastrab.unleashed.api.models.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSnapshotTest {
+    private static final Duration ENTITY_TTL = Duration.ofMinutes(5);
+    private static final Instant NOW = Instant.parse("2020-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCachesAreRestoredFromSnapshot() {
+        Path file = directory.resolve("caches.smile");
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        cacheManager.getCache(ReferenceDataCache.PAYMENT_TERMS.getCacheName()).put(SimpleKey.EMPTY, List.of());
+        EntityCache entityCache = new EntityCache(100, ENTITY_TTL);
+        Product product = new Product("07-012");
+        product.setProductDescription("Widget");
+        entityCache.put(product);
+        snapshot(file, cacheManager, entityCache, NOW).save();
+
+        ConcurrentMapCacheManager restoredManager = new ConcurrentMapCacheManager();
+        EntityCache restoredEntities = new EntityCache(100, ENTITY_TTL);
+        List<ReferenceDataCache> restored = snapshot(file, restoredManager, restoredEntities,
+                NOW.plus(Duration.ofMinutes(1))).restore();
+
+        assertEquals(List.of(ReferenceDataCache.PAYMENT_TERMS), restored);
+        assertEquals(List.of(), restoredManager.getCache(ReferenceDataCache.PAYMENT_TERMS.getCacheName())
+                .get(SimpleKey.EMPTY).get());
+        EntityCache.Key key = restoredEntities.keyFor(GetProductRequest.builder().productCode("07-012").build())
+                .orElseThrow();
+        assertEquals("Widget", restoredEntities.<Product>get(key, Optional::empty)
+                .map(Product::getProductDescription)
+                .orElseThrow());
+    }
+
+    @Test
+    void testEntitiesAreNotRestoredFromExpiredSnapshot() {
+        Path file = directory.resolve("caches.smile");
+        EntityCache entityCache = new EntityCache(100, ENTITY_TTL);
+        entityCache.put(new Product("07-012"));
+        snapshot(file, null, entityCache, NOW).save();
+
+        EntityCache restoredEntities = new EntityCache(100, ENTITY_TTL);
+        snapshot(file, null, restoredEntities, NOW.plus(ENTITY_TTL)).restore();
+
+        assertTrue(restoredEntities.getEntities().isEmpty());
+    }
+
+    @Test
+    void testEntitiesAreRestoredWithRemainingTtl() {
+        Path file = directory.resolve("caches.smile");
+        EntityCache entityCache = new EntityCache(100, ENTITY_TTL);
+        Product product = new Product("07-012");
+        entityCache.put(product);
+        snapshot(file, null, entityCache, NOW).save();
+
+        EntityCache restoredEntities = new EntityCache(100, ENTITY_TTL);
+        snapshot(file, null, restoredEntities, NOW.plus(Duration.ofMinutes(4))).restore();
+
+        Duration remaining = restoredEntities.getExpiresAfter(product);
+        assertTrue(remaining.compareTo(Duration.ZERO) > 0);
+        assertTrue(remaining.compareTo(Duration.ofMinutes(1)) <= 0);
+    }
+
+    @Test
+    void testUnreadableSnapshotIsIgnored() throws IOException {
+        Path file = Files.writeString(directory.resolve("caches.smile"), "not a snapshot");
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+        assertTrue(snapshot(file, cacheManager, new EntityCache(100, ENTITY_TTL), NOW).restore().isEmpty());
+        assertTrue(cacheManager.getCacheNames().isEmpty());
+    }
+
+    private static CacheSnapshot snapshot(Path file, ConcurrentMapCacheManager cacheManager, EntityCache entityCache,
+                                          Instant now) {
+        return new CacheSnapshot(file, new UnleashedObjectMapper(), cacheManager, entityCache, ENTITY_TTL,
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,127 @@
+package net.jastrab.unleashedspringclient.cache;
+
+import net.jastrab.unleashed.api.GetProductRequest;
+import net.jastrab.unleashed.api.SimpleGetRequest;
+import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
+import net.jastrab.unleashed.api.models.PaymentTerm;
+import net.jastrab.unleashed.api.models.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+    private final EntityCache cache = new EntityCache(100, Duration.ofMinutes(5));
+
+    @Test
+    void testCodeLookupIsCacheable() {
+        EntityCache.Key key = cache.keyFor(GetProductRequest.builder().productCode("07-012").build()).orElseThrow();
+
+        assertEquals(key, cache.keyFor(GetProductRequest.builder().productCode("07-012").build()).orElseThrow());
+        assertTrue(cache.keyFor(GetProductRequest.builder().productGroup("Tools").build()).isEmpty());
+        assertTrue(cache.keyFor(new SimpleGetRequest<>(PaymentTerm.class)).isEmpty());
+    }
+
+    @Test
+    void testConcurrentMissesAreCoalesced() throws Exception {
+        EntityCache.Key key = cache.keyFor(GetProductRequest.builder().productCode("07-012").build()).orElseThrow();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+
+        List<CompletableFuture<Optional<Product>>> lookups = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            lookups.add(CompletableFuture.supplyAsync(() -> cache.get(key, () -> {
+                loads.incrementAndGet();
+                try {
+                    loading.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Optional.of(new Product("07-012"));
+            })));
+        }
+        loading.countDown();
+
+        for (CompletableFuture<Optional<Product>> lookup : lookups) {
+            assertEquals("07-012", lookup.get(5, TimeUnit.SECONDS).orElseThrow().getProductCode());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testEmptyResultsAreNotCached() {
+        EntityCache.Key key = cache.keyFor(GetProductRequest.builder().productCode("missing").build()).orElseThrow();
+
+        assertTrue(cache.get(key, Optional::<Product>empty).isEmpty());
+        assertEquals("missing", cache.get(key, () -> Optional.of(new Product("missing"))).orElseThrow().getProductCode());
+    }
+
+    @Test
+    void testWriteRefreshesAndInvalidatesEntries() {
+        EntityCache.Key key = cache.keyFor(GetProductRequest.builder().productCode("07-012").build()).orElseThrow();
+        Product product = new Product("07-012");
+        product.setProductDescription("Updated");
+
+        cache.put(product);
+        assertEquals("Updated", cache.<Product>get(key, () -> fail("Entity should be cached")).map(Product::getProductDescription).orElseThrow());
+
+        cache.invalidate(product);
+        assertTrue(cache.get(key, Optional::<Product>empty).isEmpty());
+    }
+
+    @Test
+    void testPartialCodeMatchesAreNotCached() {
+        EntityCache.Key key = cache.keyFor(GetProductRequest.builder().productCode("ABC").build()).orElseThrow();
+
+        assertEquals("ABC-1", cache.get(key, () -> Optional.of(new Product("ABC-1"))).orElseThrow().getProductCode());
+        assertEquals("ABC", cache.get(key, () -> Optional.of(new Product("ABC"))).orElseThrow().getProductCode());
+    }
+
+    @Test
+    void testCallersReceiveCopies() {
+        EntityCache.Key key = cache.keyFor(GetProductRequest.builder().productCode("07-012").build()).orElseThrow();
+        Product product = new Product("07-012");
+        product.setProductDescription("Cached");
+        cache.put(product);
+        product.setProductDescription("Modified after put");
+
+        Product first = cache.<Product>get(key, () -> fail("Entity should be cached")).orElseThrow();
+        first.setProductDescription("Modified by caller");
+
+        assertEquals("Cached", cache.<Product>get(key, () -> fail("Entity should be cached"))
+                .map(Product::getProductDescription).orElseThrow());
+    }
+
+    @Test
+    void testReadsDoNotExtendTtl() {
+        AtomicLong ticker = new AtomicLong();
+        EntityCache expiring = new EntityCache(100, Duration.ofMinutes(5), new UnleashedObjectMapper(), ticker::get);
+        EntityCache.Key key = expiring.keyFor(GetProductRequest.builder().productCode("07-012").build()).orElseThrow();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int minute = 0; minute < 5; minute++) {
+            expiring.get(key, () -> {
+                loads.incrementAndGet();
+                return Optional.of(new Product("07-012"));
+            });
+            ticker.addAndGet(Duration.ofMinutes(1).toNanos());
+        }
+        assertEquals(1, loads.get());
+
+        ticker.incrementAndGet();
+        expiring.get(key, () -> {
+            loads.incrementAndGet();
+            return Optional.of(new Product("07-012"));
+        });
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,59 @@
+package net.jastrab.unleashedspringclient.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import net.jastrab.unleashedspringclient.UnleashedClientProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceDataCachesTest {
+
+    @Test
+    void testCacheManagerContainsEveryReferenceDataCache() {
+        SimpleCacheManager cacheManager = ReferenceDataCaches.cacheManager(new UnleashedClientProperties.Caching(),
+                () -> fail("Client should not be requested until a cache is loaded"));
+        cacheManager.afterPropertiesSet();
+
+        for (ReferenceDataCache cache : ReferenceDataCache.values()) {
+            assertNotNull(cacheManager.getCache(cache.getCacheName()), cache.getCacheName());
+        }
+    }
+
+    @Test
+    void testRefreshAheadCacheLoadsOnceAndRecordsStats() {
+        AtomicInteger loads = new AtomicInteger();
+        CaffeineCache cache = ReferenceDataCaches.caffeineCache("payment_terms",
+                new UnleashedClientProperties.Caching().spec("payment_terms"),
+                key -> List.of("load-" + loads.incrementAndGet()));
+
+        assertEquals(List.of("load-1"), cache.get(SimpleKey.EMPTY).get());
+        assertEquals(List.of("load-1"), cache.get(SimpleKey.EMPTY).get());
+
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        assertEquals(1, loads.get());
+        assertEquals(1, nativeCache.stats().hitCount());
+        assertEquals(1, nativeCache.stats().missCount());
+    }
+
+    @Test
+    void testPerCacheOverridesFallBackToDefaults() {
+        UnleashedClientProperties.Caching caching = new UnleashedClientProperties.Caching();
+        UnleashedClientProperties.CacheSpec override = new UnleashedClientProperties.CacheSpec();
+        override.setTtl(Duration.ofMinutes(5));
+        caching.getCaches().put("unitsmeasure", override);
+
+        UnleashedClientProperties.CacheSpec spec = caching.spec("units_measure");
+
+        assertEquals(Duration.ofMinutes(5), spec.getTtl());
+        assertEquals(caching.getMaxSize(), spec.getMaxSize());
+        assertTrue(spec.getRefreshAhead());
+    }
+
+}
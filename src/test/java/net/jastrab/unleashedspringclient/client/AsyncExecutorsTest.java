@@ -0,0 +1,72 @@
+package net.jastrab.unleashedspringclient.client;
+
+import net.jastrab.unleashed.api.GetProductRequest;
+import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncExecutorsTest {
+
+    @AfterEach
+    void afterEach() {
+        MDC.clear();
+    }
+
+    @Test
+    void testBoundedPoolUsedWithoutVirtualThreads() {
+        ExecutorService executor = AsyncExecutors.newExecutor(3, false);
+        try {
+            assertTrue(executor instanceof ThreadPoolExecutor);
+            assertEquals(3, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testVirtualThreadsUsedWhenAvailable() {
+        ExecutorService executor = AsyncExecutors.newExecutor(3, true);
+        try {
+            assertEquals(AsyncExecutors.newVirtualThreadExecutor() == null, executor instanceof ThreadPoolExecutor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMdcIsPropagatedAndRestored() throws Exception {
+        ExecutorService executor = AsyncExecutors.newExecutor(1, false);
+        try {
+            MDC.put("requestId", "abc-123");
+            String propagated = CompletableFuture.supplyAsync(() -> MDC.get("requestId"),
+                    AsyncExecutors.decorate(executor, new MdcTaskDecorator())).get(5, TimeUnit.SECONDS);
+            MDC.clear();
+            String leaked = CompletableFuture.supplyAsync(() -> MDC.get("requestId"), executor).get(5, TimeUnit.SECONDS);
+
+            assertEquals("abc-123", propagated);
+            assertNull(leaked);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAsyncRequestsFailAfterClose() {
+        UnleashedClient client = new UnleashedClient("http://localhost", new RestTemplateBuilder(),
+                new MappingJackson2HttpMessageConverter(new UnleashedObjectMapper()));
+        client.close();
+
+        assertThrows(IllegalStateException.class,
+                () -> client.getItemAsync(GetProductRequest.builder().productCode("07-012").build()));
+    }
+}
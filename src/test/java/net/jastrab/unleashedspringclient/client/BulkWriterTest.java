@@ -0,0 +1,157 @@
+package net.jastrab.unleashedspringclient.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jastrab.unleashedspringclient.resilience.CallNotPermittedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkWriterTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testLimitIncreasesWhileHealthyAndBacksOffOnOverload() {
+        AimdLimit limit = new AimdLimit(2, 1, 4, Duration.ofSeconds(1), 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.onSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertEquals(4, limit.getLimit());
+
+        assertTrue(limit.tryAcquire());
+        limit.onOverload();
+        assertEquals(2, limit.getLimit());
+
+        assertTrue(limit.tryAcquire());
+        limit.onSuccess(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1, limit.getLimit());
+
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.onIgnore();
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void testResultsAreReportedPerItemInOrder() {
+        List<String> items = IntStream.range(0, 20).mapToObj(i -> "item-" + i).collect(Collectors.toList());
+        UnleashedApiException invalid = apiException(HttpStatus.BAD_REQUEST);
+
+        List<BulkResult<String>> results = start(items, item -> {
+            if (item.equals("item-7")) {
+                throw invalid;
+            }
+            return Optional.of(item.toUpperCase());
+        }).join();
+
+        assertEquals(20, results.size());
+        assertEquals("item-0", results.get(0).getItem());
+        assertEquals(Optional.of("ITEM-0"), results.get(0).getResult());
+        assertEquals(BulkResult.Status.FAILED, results.get(7).getStatus());
+        assertSame(invalid, results.get(7).getError().orElseThrow());
+        assertEquals(19, results.stream().filter(r -> r.getStatus() == BulkResult.Status.SUCCEEDED).count());
+    }
+
+    @Test
+    void testTooManyRequestsIsRequeuedWithReducedConcurrency() {
+        Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        BulkOperation<String> operation = start(List.of("a", "b", "c"), item -> {
+            if (attempts.computeIfAbsent(item, key -> new AtomicInteger()).incrementAndGet() == 1 && item.equals("b")) {
+                throw apiException(HttpStatus.TOO_MANY_REQUESTS);
+            }
+            return Optional.of(item);
+        });
+
+        List<BulkResult<String>> results = operation.join();
+
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == BulkResult.Status.SUCCEEDED));
+        assertEquals(2, attempts.get("b").get());
+    }
+
+    @Test
+    void testTooManyRequestsFailsAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        List<BulkResult<String>> results = start(List.of("a"), item -> {
+            attempts.incrementAndGet();
+            throw apiException(HttpStatus.TOO_MANY_REQUESTS);
+        }).join();
+
+        assertEquals(BulkResult.Status.FAILED, results.get(0).getStatus());
+        assertEquals(BulkWriter.MAX_ATTEMPTS, attempts.get());
+    }
+
+    @Test
+    void testCallNotPermittedIsRequeuedAfterPause() {
+        AtomicInteger attempts = new AtomicInteger();
+        long start = System.nanoTime();
+        List<BulkResult<String>> results = start(List.of("a"), item -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new CallNotPermittedException("/Products", CallNotPermittedException.Reason.CIRCUIT_OPEN);
+            }
+            return Optional.of(item);
+        }).join();
+
+        assertEquals(BulkResult.Status.SUCCEEDED, results.get(0).getStatus());
+        assertEquals(2, attempts.get());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(BulkWriter.REJECTED_PAUSE_MILLIS));
+        assertTrue(BulkWriter.isOverload(
+                new CallNotPermittedException("/Products", CallNotPermittedException.Reason.BULKHEAD_FULL)));
+    }
+
+    @Test
+    void testCancelReportsUnwrittenItems() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> items = IntStream.range(0, 10).mapToObj(i -> "item-" + i).collect(Collectors.toList());
+
+        BulkOperation<String> operation = start(items, item -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of(item);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(operation.cancel());
+        release.countDown();
+
+        List<BulkResult<String>> results = operation.getCompletion().get(5, TimeUnit.SECONDS);
+        long written = results.stream().filter(r -> r.getStatus() == BulkResult.Status.SUCCEEDED).count();
+        assertTrue(written >= 1 && written <= 2);
+        assertEquals(10 - written, results.stream().filter(r -> r.getStatus() == BulkResult.Status.CANCELLED).count());
+        assertEquals(10, operation.getCompletedCount());
+    }
+
+    private BulkOperation<String> start(List<String> items, Function<String, Optional<String>> writer) {
+        AimdLimit limit = new AimdLimit(2, 1, 8, Duration.ofSeconds(1), 0.5);
+        return new BulkWriter<>(items, writer, executor, new BulkOperation<>(items.size(), limit)).start();
+    }
+
+    private static UnleashedApiException apiException(HttpStatus status) {
+        return new UnleashedApiException(status, new byte[0], new ObjectMapper(), null);
+    }
+}
@@ -0,0 +1,68 @@
+package net.jastrab.unleashedspringclient.client;
+
+import net.jastrab.unleashed.api.GetProductRequest;
+import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
+import net.jastrab.unleashed.api.http.PaginatedUnleashedResponse;
+import net.jastrab.unleashed.api.models.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.UnknownContentTypeException;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseReadersTest {
+    private static final Type RESPONSE_TYPE = GetProductRequest.builder().build().getResponseType();
+    private final ResponseReaders readers = new ResponseReaders(new UnleashedObjectMapper(),
+            List.of(MediaType.APPLICATION_JSON, new MediaType("application", "*+json")));
+
+    @Test
+    void testReadsJsonBody() throws Exception {
+        final byte[] body = Files.readAllBytes(Path.of("src/test/resources/__files/product_07-012.json"));
+
+        final PaginatedUnleashedResponse<Product> page = extract(body, MediaType.APPLICATION_JSON).getBody();
+
+        assertEquals("07-012", page.getItems().get(0).getProductCode());
+    }
+
+    @Test
+    void testEmptyBodyIsReadAsNull() throws Exception {
+        assertNull(extract(new byte[0], MediaType.APPLICATION_JSON).getBody());
+    }
+
+    @Test
+    void testMalformedBodyIsNotAnIoError() {
+        final byte[] body = "{\"Items\": [".getBytes(StandardCharsets.UTF_8);
+
+        final RestClientException e = assertThrows(RestClientException.class,
+                () -> extract(body, MediaType.APPLICATION_JSON));
+        assertFalse(e instanceof ResourceAccessException);
+    }
+
+    @Test
+    void testUnsupportedContentTypeIsRejected() {
+        final byte[] body = "<html></html>".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(UnknownContentTypeException.class, () -> extract(body, MediaType.TEXT_HTML));
+    }
+
+    private ResponseEntity<PaginatedUnleashedResponse<Product>> extract(byte[] body, MediaType contentType)
+            throws Exception {
+        final MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+        response.getHeaders().setContentType(contentType);
+        final ResponseExtractor<ResponseEntity<PaginatedUnleashedResponse<Product>>> extractor =
+                readers.extractor(RESPONSE_TYPE);
+        return extractor.extractData(response);
+    }
+}
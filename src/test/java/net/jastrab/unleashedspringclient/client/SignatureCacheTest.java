@@ -0,0 +1,45 @@
+package net.jastrab.unleashedspringclient.client;
+
+import net.jastrab.unleashed.api.security.SignatureGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SignatureCacheTest {
+    private static final String API_KEY = "abc123def456/ghi789+jkl0==";
+    private static final List<String> QUERIES = List.of(
+            "",
+            "productCode=07-012",
+            "productGroup=Tools&pageSize=200",
+            "productCode=LT6657AHMS8-1.25#PBF",
+            "contactEmail=sales"
+    );
+
+    @Test
+    void testSignatureMatchesSignatureGenerator() {
+        SignatureCache signatures = new SignatureCache(API_KEY);
+
+        QUERIES.forEach(query ->
+                assertEquals(SignatureGenerator.getSignature(API_KEY, query), signatures.getSignature(query)));
+    }
+
+    @Test
+    void testCachedSignatureIsStable() {
+        SignatureCache signatures = new SignatureCache(API_KEY, 2);
+
+        QUERIES.forEach(signatures::getSignature);
+        QUERIES.forEach(query ->
+                assertEquals(SignatureGenerator.getSignature(API_KEY, query), signatures.getSignature(query)));
+    }
+
+    @Test
+    void testUncachedSignatureMatchesSignatureGenerator() {
+        SignatureCache signatures = new SignatureCache(API_KEY, 0);
+
+        QUERIES.forEach(query ->
+                assertEquals(SignatureGenerator.getSignature(API_KEY, query), signatures.getSignature(query)));
+    }
+
+}
@@ -1,11 +1,24 @@
 package net.jastrab.unleashedspringclient.client;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import net.jastrab.unleashed.api.GetProductRequest;
+import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
 import net.jastrab.unleashed.api.http.PaginatedUnleashedRequest;
+import net.jastrab.unleashed.api.http.PaginatedUnleashedResponse;
 import net.jastrab.unleashed.api.models.Product;
 import net.jastrab.unleashedspringclient.UnleashedClientConfiguration;
+import net.jastrab.unleashedspringclient.resilience.CallNotPermittedException;
+import net.jastrab.unleashedspringclient.resilience.CircuitBreakerPolicy;
+import net.jastrab.unleashedspringclient.resilience.EndpointGuards;
+import net.jastrab.unleashedspringclient.retry.Retrier;
+import net.jastrab.unleashedspringclient.retry.RetryPolicy;
+import net.jastrab.unleashedspringclient.sync.DeltaSync;
+import net.jastrab.unleashedspringclient.sync.FileSnapshotStore;
+import net.jastrab.unleashedspringclient.sync.Snapshot;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,15 +26,30 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.util.TestPropertyValues;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Tag("integration")
 @ActiveProfiles(profiles = {"integration"})
@@ -51,6 +79,7 @@ public class WireMockProductsIntegrationTest {
 
     @BeforeEach
     void beforeEach() {
+        server.resetRequests();
         // Return 400 for any un-stubbed/un-matched requests
         server.stubFor(any(anyUrl())
                 .atPriority(10)
@@ -83,7 +112,23 @@ public class WireMockProductsIntegrationTest {
         assertEquals(BigDecimal.valueOf(33.95), product.getAverageLandPrice());
     }
 
-    @Disabled("Auto-pagination disabled")
+    @Test
+    @DisplayName("Test asynchronous get product request completes with the product")
+    void testGetSingleProductRequestAsync() throws Exception {
+        server.stubFor(get(urlPathEqualTo("/Products/"))
+                .withQueryParam("productCode", equalTo("07-012"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(200)
+                        .withBodyFile("product_07-012.json")));
+
+        final Product product = client.getItemAsync(GetProductRequest.builder().productCode("07-012").build())
+                .get(10, TimeUnit.SECONDS)
+                .orElseThrow();
+
+        assertEquals("Pump Air Shock", product.getProductDescription());
+    }
+
     @Test
     @DisplayName("Test get product request for a paginated response")
     void testGetProductRequestPaging() {
@@ -101,4 +146,385 @@ public class WireMockProductsIntegrationTest {
         server.verify(2, getRequestedFor(urlPathMatching("/Products/Page/[2-3]")));
     }
 
+    @Test
+    @DisplayName("Test paginated items are merged in page order")
+    void testGetProductRequestPagingOrder() {
+        // Stubbed by MultiPageProduct.json
+
+        final GetProductRequest request = GetProductRequest.builder()
+                .productGroup("Tools")
+                .build();
+
+        final List<String> productCodes = client.getItems(request).stream()
+                .map(Product::getProductCode)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of("tool-1", "tool-2", "tool-3"), productCodes);
+    }
+
+    @Test
+    @DisplayName("Test single item and first page requests do not fetch additional pages")
+    void testGetProductFirstPageOnly() {
+        // Stubbed by MultiPageProduct.json
+
+        final GetProductRequest request = GetProductRequest.builder()
+                .productGroup("Tools")
+                .build();
+
+        final Product product = client.getItem(request).orElseThrow();
+        final PaginatedUnleashedResponse<Product> page = client.getItemsPaginated(request);
+
+        assertEquals("First Tool", product.getProductDescription());
+        assertEquals(1, page.getItems().size());
+        server.verify(0, getRequestedFor(urlPathMatching("/Products/Page/.*")));
+    }
+
+    @Test
+    @DisplayName("Test streaming a paginated response yields all items in page order")
+    void testStreamProductRequestPaging() {
+        // Stubbed by MultiPageProduct.json
+
+        final GetProductRequest request = GetProductRequest.builder()
+                .productGroup("Tools")
+                .build();
+
+        final List<String> productCodes;
+        try (Stream<Product> products = client.streamItems(request)) {
+            productCodes = products.map(Product::getProductCode).collect(Collectors.toList());
+        }
+
+        assertEquals(List.of("tool-1", "tool-2", "tool-3"), productCodes);
+        server.verify(2, getRequestedFor(urlPathMatching("/Products/Page/[2-3]")));
+    }
+
+    @Test
+    @DisplayName("Test streaming deserialization passes every item to the consumer in page order")
+    void testForEachProductRequestPaging() {
+        // Stubbed by MultiPageProduct.json
+
+        final GetProductRequest request = GetProductRequest.builder()
+                .productGroup("Tools")
+                .build();
+
+        final List<String> productCodes = new ArrayList<>();
+        final int itemCount = client.forEachItem(request, product -> productCodes.add(product.getProductCode()));
+
+        assertEquals(3, itemCount);
+        assertEquals(List.of("tool-1", "tool-2", "tool-3"), productCodes);
+    }
+
+    @Test
+    @DisplayName("Test iterating a paginated response does not request pages before it is consumed")
+    void testIterateProductRequestLazily() {
+        // Stubbed by MultiPageProduct.json
+
+        final GetProductRequest request = GetProductRequest.builder()
+                .productGroup("Tools")
+                .build();
+
+        final Iterator<Product> products = client.iterateItems(request);
+        server.verify(0, getRequestedFor(urlPathMatching("/Products/.*")));
+
+        assertTrue(products.hasNext());
+        assertEquals("First Tool", products.next().getProductDescription());
+        server.verify(1, getRequestedFor(urlEqualTo("/Products/?productGroup=Tools")));
+    }
+
+    @Test
+    @DisplayName("Test get request is retried after a transient 503 response")
+    void testGetProductRequestRetry() {
+        server.stubFor(get(urlPathEqualTo("/Products/"))
+                .withQueryParam("productCode", equalTo("retry"))
+                .inScenario("retry")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503).withHeader("Retry-After", "0"))
+                .willSetStateTo("recovered"));
+        server.stubFor(get(urlPathEqualTo("/Products/"))
+                .withQueryParam("productCode", equalTo("retry"))
+                .inScenario("retry")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(200)
+                        .withBodyFile("product_07-012.json")));
+
+        final Product product = client.getItem(GetProductRequest.builder().productCode("retry").build()).orElseThrow();
+
+        assertEquals("Pump Air Shock", product.getProductDescription());
+        server.verify(2, getRequestedFor(urlPathEqualTo("/Products/")).withQueryParam("productCode", equalTo("retry")));
+    }
+
+    @Test
+    @DisplayName("Test each retry attempt passes through the endpoint guard and a rejected attempt is not retried")
+    void testGuardAppliesToEachRetryAttempt() {
+        final StubMapping degraded = server.stubFor(get(urlPathEqualTo("/Products/"))
+                .withQueryParam("productCode", equalTo("degraded"))
+                .atPriority(1)
+                .willReturn(aResponse().withStatus(503).withHeader("Retry-After", "0")));
+        final Retrier retrier = client.getRetrier();
+        client.setRetrier(new Retrier(RetryPolicy.builder().maxAttempts(5).build()));
+        client.setEndpointGuards(new EndpointGuards(CircuitBreakerPolicy.builder()
+                .failureRateThreshold(0.5)
+                .slidingWindowSize(2)
+                .minimumCalls(2)
+                .openDuration(Duration.ofMinutes(1))
+                .build(), 0, Duration.ZERO));
+        try {
+            final CallNotPermittedException rejected = assertThrows(CallNotPermittedException.class,
+                    () -> client.getItem(GetProductRequest.builder().productCode("degraded").build()));
+
+            assertEquals(CallNotPermittedException.Reason.CIRCUIT_OPEN, rejected.getReason());
+            server.verify(2, getRequestedFor(urlPathEqualTo("/Products/"))
+                    .withQueryParam("productCode", equalTo("degraded")));
+        } finally {
+            client.setEndpointGuards(null);
+            client.setRetrier(retrier);
+            server.removeStubMapping(degraded);
+        }
+    }
+
+    @Test
+    @DisplayName("Test client errors are returned as an exception carrying the response when configured")
+    void testClientErrorThrownWhenConfigured() {
+        final PaginatedUnleashedRequest<Product> request = GetProductRequest.builder().productCode("rejected").build();
+        assertTrue(client.getItem(request).isEmpty());
+
+        client.setThrowClientErrors(true);
+        try {
+            final UnleashedApiException exception = assertThrows(UnleashedApiException.class,
+                    () -> client.getItem(request));
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+            assertEquals("Invalid (unmatched) Request", exception.getResponseBodyAsString());
+            assertTrue(exception.getError().isEmpty());
+        } finally {
+            client.setThrowClientErrors(false);
+        }
+    }
+
+    @Test
+    @DisplayName("Test concurrent identical get requests share a single upstream call")
+    void testConcurrentGetRequestsAreCoalesced() throws Exception {
+        server.stubFor(get(urlPathEqualTo("/Products/"))
+                .withQueryParam("productCode", equalTo("coalesced"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(200)
+                        .withFixedDelay(500)
+                        .withBodyFile("product_07-012.json")));
+
+        final int callers = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(callers);
+        final CountDownLatch start = new CountDownLatch(1);
+        client.setRequestCoalescing(true);
+        try {
+            final List<Future<Optional<Product>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return client.getItem(GetProductRequest.builder().productCode("coalesced").build());
+                }));
+            }
+            start.countDown();
+
+            for (Future<Optional<Product>> result : results) {
+                assertEquals("Pump Air Shock", result.get(10, TimeUnit.SECONDS).orElseThrow().getProductDescription());
+            }
+        } finally {
+            executor.shutdownNow();
+            client.setRequestCoalescing(false);
+        }
+
+        server.verify(1, getRequestedFor(urlPathEqualTo("/Products/")).withQueryParam("productCode", equalTo("coalesced")));
+    }
+
+    @Test
+    @DisplayName("Test delta sync fetches the full catalog once and then only modified products")
+    void testDeltaSyncProducts(@TempDir Path directory) {
+        server.stubFor(get(urlEqualTo("/Products/"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(200)
+                        .withBody(productPage("{\"ProductCode\": \"sync-1\", \"ProductDescription\": \"First\"}, " +
+                                "{\"ProductCode\": \"sync-2\", \"ProductDescription\": \"Second\"}"))));
+        server.stubFor(get(urlPathEqualTo("/Products/"))
+                .withQueryParam("modifiedSince", matching(".+"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(200)
+                        .withBody(productPage("{\"ProductCode\": \"sync-2\", \"ProductDescription\": \"Second v2\"}"))));
+
+        final DeltaSync sync = new DeltaSync(client, new FileSnapshotStore(directory, new UnleashedObjectMapper()));
+        sync.syncProducts();
+        final Snapshot<Product> snapshot = sync.syncProducts();
+
+        assertEquals(2, snapshot.size());
+        assertEquals("Second v2", snapshot.get("sync-2").orElseThrow().getProductDescription());
+        server.verify(1, getRequestedFor(urlEqualTo("/Products/")));
+        server.verify(1, getRequestedFor(urlPathEqualTo("/Products/")).withQueryParam("modifiedSince", matching(".+")));
+
+        final Snapshot<Product> restored = new FileSnapshotStore(directory, new UnleashedObjectMapper())
+                .load(DeltaSync.PRODUCTS, Product.class);
+        assertEquals(snapshot.getHighWaterMark(), restored.getHighWaterMark());
+        assertEquals("First", restored.get("sync-1").orElseThrow().getProductDescription());
+    }
+
+    @Test
+    @DisplayName("Test delta sync keeps its high-water mark when the delta request fails")
+    void testDeltaSyncClientErrorKeepsHighWaterMark(@TempDir Path directory) {
+        server.stubFor(get(urlEqualTo("/Products/"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(200)
+                        .withBody(productPage("{\"ProductCode\": \"sync-1\", " +
+                                "\"ProductDescription\": \"First\"}"))));
+        final StubMapping unauthorized = server.stubFor(get(urlPathEqualTo("/Products/"))
+                .withQueryParam("modifiedSince", matching(".+"))
+                .atPriority(1)
+                .willReturn(aResponse().withStatus(401)));
+
+        final FileSnapshotStore store = new FileSnapshotStore(directory, new UnleashedObjectMapper());
+        final DeltaSync sync = new DeltaSync(client, store);
+        try {
+            final Snapshot<Product> initial = sync.syncProducts();
+
+            final UnleashedApiException exception = assertThrows(UnleashedApiException.class, sync::syncProducts);
+
+            assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatus());
+            assertEquals(initial.getHighWaterMark(), sync.read(DeltaSync.PRODUCTS, Product.class).getHighWaterMark());
+            assertEquals(initial.getHighWaterMark(), new FileSnapshotStore(directory, new UnleashedObjectMapper())
+                    .load(DeltaSync.PRODUCTS, Product.class).getHighWaterMark());
+        } finally {
+            server.removeStubMapping(unauthorized);
+        }
+    }
+
+    @Test
+    @DisplayName("Test batch upsert creates new products and updates changed products")
+    void testUpsertProducts() {
+        stubExistingProduct();
+        stubProductWrites();
+
+        final Product changed = new Product("07-012");
+        changed.setProductDescription("Pump Air Shock v2");
+        final Product created = new Product("NEW-1");
+        created.setProductDescription("New Product");
+
+        final UpsertReport report = client.upsertProducts(List.of(changed, created));
+
+        assertEquals(List.of(UpsertResult.Status.UPDATED, UpsertResult.Status.CREATED), report.getResults().stream()
+                .map(UpsertResult::getStatus)
+                .collect(Collectors.toList()));
+        server.verify(2, postRequestedFor(urlPathMatching("/Products/.*")));
+        server.verify(postRequestedFor(urlPathMatching("/Products/.*"))
+                .withRequestBody(matchingJsonPath("$.ProductDescription", equalTo("Pump Air Shock v2"))));
+    }
+
+    @Test
+    @DisplayName("Test batch upsert skips writes for unchanged products")
+    void testUpsertProductsUnchanged() {
+        stubExistingProduct();
+        stubProductWrites();
+
+        final Product unchanged = new Product("07-012");
+        unchanged.setProductDescription("Pump Air Shock");
+
+        final UpsertReport report = client.upsertProducts(List.of(unchanged));
+
+        assertEquals(1, report.count(UpsertResult.Status.UNCHANGED));
+        server.verify(0, postRequestedFor(anyUrl()));
+    }
+
+    @Test
+    @DisplayName("Test batch upsert scans the catalog when it has fewer pages than the batch has products")
+    void testUpsertProductsScansCatalog() {
+        server.stubFor(get(urlPathEqualTo("/Products/"))
+                .withQueryParam("pageSize", equalTo("1000"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(200)
+                        .withBodyFile("product_07-012.json")));
+        stubProductWrites();
+        final List<Product> products = new ArrayList<>();
+        final Product unchanged = new Product("07-012");
+        unchanged.setProductDescription("Pump Air Shock");
+        products.add(unchanged);
+        for (int i = 1; i < 10; i++) {
+            products.add(new Product("NEW-" + i));
+        }
+
+        final UpsertReport report = client.upsertProducts(products);
+
+        assertEquals(1, report.count(UpsertResult.Status.UNCHANGED));
+        assertEquals(9, report.count(UpsertResult.Status.CREATED));
+        server.verify(0, getRequestedFor(urlPathEqualTo("/Products/")).withQueryParam("productCode", matching(".+")));
+        server.verify(9, postRequestedFor(urlPathMatching("/Products/.*")));
+    }
+
+    @Test
+    @DisplayName("Test batch upsert reports failed lookups without writing the product")
+    void testUpsertProductsLookupFailure() {
+        stubExistingProduct();
+        stubProductWrites();
+        server.stubFor(get(urlPathEqualTo("/Products/"))
+                .withQueryParam("productCode", equalTo("DENIED"))
+                .willReturn(aResponse().withStatus(403)));
+        final Product unchanged = new Product("07-012");
+        unchanged.setProductDescription("Pump Air Shock");
+
+        final UpsertReport report = client.upsertProducts(List.of(unchanged, new Product("DENIED")));
+
+        assertEquals(List.of(UpsertResult.Status.UNCHANGED, UpsertResult.Status.FAILED), report.getResults().stream()
+                .map(UpsertResult::getStatus)
+                .collect(Collectors.toList()));
+        server.verify(0, postRequestedFor(anyUrl()));
+    }
+
+    private static String productPage(String items) {
+        return "{\"Pagination\": {\"NumberOfItems\": 1, \"PageSize\": 200, \"PageNumber\": 1, " +
+                "\"NumberOfPages\": 1}, \"Items\": [" + items + "]}";
+    }
+
+    private void stubExistingProduct() {
+        server.stubFor(get(urlPathEqualTo("/Products/"))
+                .withQueryParam("productCode", equalTo("07-012"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(200)
+                        .withBodyFile("product_07-012.json")));
+        server.stubFor(get(urlPathEqualTo("/Products/"))
+                .withQueryParam("productCode", equalTo("NEW-1"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(200)
+                        .withBody("{\"Pagination\": {\"NumberOfItems\": 0, \"PageSize\": 200, " +
+                                "\"PageNumber\": 1, \"NumberOfPages\": 1}, \"Items\": []}")));
+    }
+
+    private void stubProductWrites() {
+        server.stubFor(post(urlPathMatching("/Products/.*"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withStatus(200)
+                        .withBody("{\"ProductCode\": \"NEW-1\", \"ProductDescription\": \"New Product\"}")));
+    }
+
+    @Test
+    @DisplayName("Test pagination fails when a subsequent page cannot be retrieved")
+    void testGetProductRequestPagingMissingPage() {
+        final StubMapping missingPage = server.stubFor(get(urlEqualTo("/Products/Page/3?productGroup=Tools"))
+                .atPriority(1)
+                .willReturn(aResponse().withStatus(404)));
+
+        final GetProductRequest request = GetProductRequest.builder()
+                .productGroup("Tools")
+                .build();
+
+        try {
+            assertThrows(IllegalStateException.class, () -> client.getItems(request));
+        } finally {
+            server.removeStubMapping(missingPage);
+        }
+    }
+
 }
@@ -0,0 +1,186 @@
+package net.jastrab.unleashedspringclient.http;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpCachingInterceptorTest {
+    private static final String PRODUCT_GROUPS = "https://api.unleashedsoftware.com/ProductGroups";
+    private static final String BODY = "{\"Items\":[{\"GroupName\":\"Widgets\"}]}";
+
+    private final List<HttpHeaders> sent = new ArrayList<>();
+
+    @Test
+    void testStaleResponseIsRevalidatedWithETag() throws IOException {
+        HttpResponseCache cache = new HttpResponseCache(1024, Duration.ZERO, null, 0);
+        HttpCachingInterceptor interceptor = new HttpCachingInterceptor(cache);
+
+        ClientHttpResponse first = interceptor.intercept(get(PRODUCT_GROUPS), new byte[0], respond(HttpStatus.OK, "\"v1\""));
+        ClientHttpResponse second = interceptor.intercept(get(PRODUCT_GROUPS), new byte[0],
+                respond(HttpStatus.NOT_MODIFIED, "\"v1\""));
+
+        assertEquals(BODY, body(first));
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals(BODY, body(second));
+        assertNull(sent.get(0).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("\"v1\"", sent.get(1).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1, cache.getRevalidationCount());
+    }
+
+    @Test
+    void testFreshResponseIsServedWithoutRequest() throws IOException {
+        MutableClock clock = new MutableClock();
+        HttpResponseCache cache = new HttpResponseCache(1024, Duration.ZERO, null, 0, clock);
+        cache.setResourceTtl("ProductGroups", Duration.ofMinutes(5));
+        HttpCachingInterceptor interceptor = new HttpCachingInterceptor(cache);
+
+        interceptor.intercept(get(PRODUCT_GROUPS), new byte[0], respond(HttpStatus.OK, null));
+        ClientHttpResponse cached = interceptor.intercept(get(PRODUCT_GROUPS), new byte[0], respond(HttpStatus.OK, null));
+        clock.advance(Duration.ofMinutes(5));
+        interceptor.intercept(get(PRODUCT_GROUPS), new byte[0], respond(HttpStatus.OK, null));
+
+        assertEquals(BODY, body(cached));
+        assertEquals(2, sent.size());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void testResponsesWithoutValidatorsOrTtlAreNotStored() throws IOException {
+        HttpResponseCache cache = new HttpResponseCache(1024, Duration.ZERO, null, 0);
+        HttpCachingInterceptor interceptor = new HttpCachingInterceptor(cache);
+
+        interceptor.intercept(get(PRODUCT_GROUPS), new byte[0], respond(HttpStatus.OK, null));
+
+        assertEquals(0, cache.getCount());
+    }
+
+    @Test
+    void testWriteInvalidatesResource() throws IOException {
+        HttpResponseCache cache = new HttpResponseCache(1024, Duration.ofMinutes(5), null, 0);
+        HttpCachingInterceptor interceptor = new HttpCachingInterceptor(cache);
+        interceptor.intercept(get(PRODUCT_GROUPS), new byte[0], respond(HttpStatus.OK, null));
+        interceptor.intercept(get("https://api.unleashedsoftware.com/Customers"), new byte[0],
+                respond(HttpStatus.OK, null));
+
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, URI.create(PRODUCT_GROUPS + "/abc")),
+                new byte[0], respond(HttpStatus.CREATED, null));
+
+        assertNull(cache.get(PRODUCT_GROUPS));
+        assertNotNull(cache.get("https://api.unleashedsoftware.com/Customers"));
+    }
+
+    @Test
+    void testMemoryTierEvictsLeastRecentlyUsed() throws IOException {
+        HttpResponseCache cache = new HttpResponseCache(BODY.length() * 2, Duration.ofMinutes(5), null, 0);
+        HttpCachingInterceptor interceptor = new HttpCachingInterceptor(cache);
+
+        for (int page = 1; page <= 3; page++) {
+            interceptor.intercept(get(PRODUCT_GROUPS + "/Page/" + page), new byte[0], respond(HttpStatus.OK, null));
+        }
+
+        assertEquals(2, cache.getCount());
+        assertEquals(BODY.length() * 2, cache.getSize());
+        assertNull(cache.get(PRODUCT_GROUPS + "/Page/1"));
+    }
+
+    @Test
+    void testDiskTierSurvivesRestart(@TempDir Path directory) throws IOException {
+        HttpResponseCache cache = new HttpResponseCache(1024, Duration.ZERO, directory, 1024 * 1024);
+        new HttpCachingInterceptor(cache).intercept(get(PRODUCT_GROUPS), new byte[0], respond(HttpStatus.OK, "\"v1\""));
+        cache.close();
+
+        HttpResponseCache restarted = new HttpResponseCache(1024, Duration.ZERO, directory, 1024 * 1024);
+        ClientHttpResponse response = new HttpCachingInterceptor(restarted).intercept(get(PRODUCT_GROUPS), new byte[0],
+                respond(HttpStatus.NOT_MODIFIED, "\"v1\""));
+
+        assertEquals(BODY, body(response));
+        assertEquals("\"v1\"", sent.get(1).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1, restarted.getCount());
+    }
+
+    @Test
+    void testRevalidationIsWrittenToDiskTier(@TempDir Path directory) throws IOException {
+        MutableClock clock = new MutableClock();
+        HttpResponseCache cache = new HttpResponseCache(1024, Duration.ofMinutes(5), directory, 1024 * 1024, clock);
+        HttpCachingInterceptor interceptor = new HttpCachingInterceptor(cache);
+        interceptor.intercept(get(PRODUCT_GROUPS), new byte[0], respond(HttpStatus.OK, "\"v1\""));
+        clock.advance(Duration.ofMinutes(10));
+        interceptor.intercept(get(PRODUCT_GROUPS), new byte[0], respond(HttpStatus.NOT_MODIFIED, "\"v2\""));
+        cache.close();
+
+        HttpResponseCache restarted = new HttpResponseCache(1024, Duration.ofMinutes(5), directory, 1024 * 1024, clock);
+        ClientHttpResponse response = new HttpCachingInterceptor(restarted).intercept(get(PRODUCT_GROUPS), new byte[0],
+                respond(HttpStatus.OK, "\"v3\""));
+
+        assertEquals(BODY, body(response));
+        assertEquals("\"v2\"", response.getHeaders().getETag());
+        assertEquals(2, sent.size());
+        assertEquals(1, restarted.getHitCount());
+    }
+
+    private static MockClientHttpRequest get(String uri) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(uri));
+    }
+
+    private ClientHttpRequestExecution respond(HttpStatus status, String etag) {
+        return (request, body) -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(request.getHeaders());
+            sent.add(headers);
+            MockClientHttpResponse response = new MockClientHttpResponse(
+                    status == HttpStatus.NOT_MODIFIED ? new byte[0] : BODY.getBytes(StandardCharsets.UTF_8), status);
+            if (etag != null) {
+                response.getHeaders().setETag(etag);
+            }
+            return response;
+        };
+    }
+
+    private static String body(ClientHttpResponse response) throws IOException {
+        return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2020-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
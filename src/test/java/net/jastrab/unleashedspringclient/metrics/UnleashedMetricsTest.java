@@ -0,0 +1,60 @@
+package net.jastrab.unleashedspringclient.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.jastrab.unleashed.api.converters.UnleashedObjectMapper;
+import net.jastrab.unleashedspringclient.client.UnleashedClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnleashedMetricsTest {
+    private final UnleashedClient client = new UnleashedClient("http://localhost", new RestTemplateBuilder(),
+            new MappingJackson2HttpMessageConverter(new UnleashedObjectMapper()));
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final UnleashedMetrics metrics = new UnleashedMetrics(client, null);
+
+    @AfterEach
+    void afterEach() {
+        client.close();
+    }
+
+    @Test
+    void testRequestsAreNotRecordedUntilBound() {
+        metrics.onExchange(HttpMethod.GET, "/Products/", 200, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertNull(registry.find(UnleashedMetrics.REQUESTS).timer());
+    }
+
+    @Test
+    void testRequestsAreTaggedByPathTemplateAndOutcome() {
+        metrics.bindTo(registry);
+        metrics.onExchange(HttpMethod.GET, "/Products/6c3a3990-5340-44f0-b67f-519c3b2bb335", 200, 1_000_000);
+        metrics.onExchange(HttpMethod.GET, "/Products/0e70b9af-dd5a-48e4-a700-639422df10db", 200, 1_000_000);
+        metrics.onExchange(HttpMethod.POST, "/Products/", 503, 1_000_000);
+
+        assertEquals(2, registry.get(UnleashedMetrics.REQUESTS)
+                .tags("uri", "/Products/{guid}", "method", "GET", "status", "200", "outcome", "SUCCESS")
+                .timer().count());
+        assertEquals(1, registry.get(UnleashedMetrics.REQUESTS)
+                .tags("uri", "/Products/", "outcome", "SERVER_ERROR")
+                .timer().count());
+    }
+
+    @Test
+    void testPaginatedRequestsRecordPagesAndItems() {
+        metrics.bindTo(registry);
+        metrics.onPaginated("/Products/", 3, 600);
+
+        assertEquals(3, registry.get(UnleashedMetrics.PAGES).tag("uri", "/Products/").summary().totalAmount());
+        assertEquals(600, registry.get(UnleashedMetrics.ITEMS).tag("uri", "/Products/").summary().totalAmount());
+        assertNotNull(registry.find("unleashed.client.retries").functionCounter());
+    }
+
+}
@@ -0,0 +1,61 @@
+package net.jastrab.unleashedspringclient.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnleashedRateLimiterTest {
+
+    @Test
+    void testTokenBucketBurst() {
+        TokenBucket bucket = new TokenBucket(0.001, 3);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(0, bucket.getQueueDepth());
+    }
+
+    @Test
+    void testTokenBucketWaitsForPermit() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1000, 1);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void testTokenBucketDoesNotWaitBeyondTimeout() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.001, 1);
+
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire(Duration.ofMillis(10)));
+    }
+
+    @Test
+    void testFailFastRejectsWhenExhausted() throws Exception {
+        UnleashedRateLimiter limiter = new UnleashedRateLimiter(new TokenBucket(0.001, 1),
+                RateLimitMode.FAIL_FAST, Duration.ofSeconds(30));
+
+        limiter.acquire("/Products/");
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("/Products/Page/2"));
+        assertEquals("products", exception.getResource());
+    }
+
+    @Test
+    void testResourceLimitOverridesDefault() throws Exception {
+        UnleashedRateLimiter limiter = new UnleashedRateLimiter(new TokenBucket(0.001, 1),
+                RateLimitMode.FAIL_FAST, Duration.ofSeconds(30));
+        limiter.addResourceLimit("Products", new TokenBucket(0.001, 2));
+
+        limiter.acquire("/Products/");
+        limiter.acquire("/Products/Page/2");
+        limiter.acquire("/Suppliers/");
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("/Suppliers/"));
+    }
+
+}
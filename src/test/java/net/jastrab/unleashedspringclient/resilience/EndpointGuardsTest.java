@@ -0,0 +1,152 @@
+package net.jastrab.unleashedspringclient.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointGuardsTest {
+
+    private final CircuitBreakerPolicy policy = CircuitBreakerPolicy.builder()
+            .failureRateThreshold(0.5)
+            .slidingWindowSize(4)
+            .minimumCalls(4)
+            .openDuration(Duration.ofSeconds(10))
+            .halfOpenCalls(2)
+            .build();
+
+    @Test
+    void testBreakerOpensAtFailureRateAndRecoversAfterTrialCalls() {
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker("/Products", policy, clock::get);
+
+        for (int i = 0; i < 2; i++) {
+            breaker.onSuccess(acquire(breaker));
+        }
+        breaker.onFailure(acquire(breaker));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onFailure(acquire(breaker));
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        long first = acquire(breaker);
+        long second = acquire(breaker);
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+        breaker.onSuccess(first);
+        breaker.onSuccess(second);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getRecordedCalls());
+    }
+
+    @Test
+    void testFailedTrialCallReopensBreaker() {
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker("/Products", policy, clock::get);
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(breaker.tryAcquire());
+        }
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        breaker.onFailure(acquire(breaker));
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+    }
+
+    @Test
+    void testOutcomesOfCallsAdmittedBeforeStateChangeAreIgnored() {
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker("/Products", policy, clock::get);
+        long slow = acquire(breaker);
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(acquire(breaker));
+        }
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        long trial = acquire(breaker);
+
+        breaker.onSuccess(slow);
+        breaker.onSuccess(slow);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onFailure(trial);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testOpenBreakerFailsFastPerEndpoint() {
+        EndpointGuards guards = new EndpointGuards(policy, 0, Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpServerErrorException.class, () -> guards.execute("/Products/Page/1", () -> {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }));
+        }
+
+        CallNotPermittedException rejected = assertThrows(CallNotPermittedException.class,
+                () -> guards.execute("/Products/Page/2", () -> "OK"));
+        assertEquals("/Products/Page/{id}", rejected.getEndpoint());
+        assertEquals(CallNotPermittedException.Reason.CIRCUIT_OPEN, rejected.getReason());
+        assertEquals("OK", guards.execute("/Customers", () -> "OK"));
+        assertEquals(1, guards.guardFor("/Products/Page/3").getCircuitOpenRejections());
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenBreaker() {
+        EndpointGuards guards = new EndpointGuards(policy, 0, Duration.ZERO);
+        for (int i = 0; i < 8; i++) {
+            assertThrows(HttpClientErrorException.class, () -> guards.execute("/Products", () -> {
+                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED,
+                guards.guardFor("/Products").getCircuitBreaker().orElseThrow().getState());
+    }
+
+    @Test
+    void testBulkheadRejectsCallsOverLimit() throws Exception {
+        EndpointGuards guards = new EndpointGuards(null, 1, Duration.ZERO);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> guards.execute("/Products", () -> {
+                started.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            CallNotPermittedException rejected = assertThrows(CallNotPermittedException.class,
+                    () -> guards.execute("/Products", () -> "OK"));
+            assertEquals(CallNotPermittedException.Reason.BULKHEAD_FULL, rejected.getReason());
+            assertEquals("OK", guards.execute("/Customers", () -> "OK"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, guards.guardFor("/Products").getAvailableConcurrentCalls());
+        assertEquals(1, guards.guardFor("/Products").getBulkheadRejections());
+    }
+
+    private static long acquire(CircuitBreaker breaker) {
+        final long permit = breaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.NOT_PERMITTED, permit);
+        return permit;
+    }
+}
@@ -0,0 +1,115 @@
+package net.jastrab.unleashedspringclient.retry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetrierTest {
+
+    private final RetryPolicy policy = RetryPolicy.builder()
+            .maxAttempts(3)
+            .initialBackoff(Duration.ofMillis(1))
+            .maxBackoff(Duration.ofMillis(5))
+            .build();
+
+    @Test
+    void testRetriesTransientFailure() {
+        Retrier retrier = new Retrier(policy);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retrier.execute(HttpMethod.GET, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return "OK";
+        });
+
+        assertEquals("OK", result);
+        assertEquals(2, calls.get());
+        assertEquals(1, retrier.getRetryCount());
+    }
+
+    @Test
+    void testDoesNotRetryPostByDefault() {
+        Retrier retrier = new Retrier(policy);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(HttpServerErrorException.class, () -> retrier.execute(HttpMethod.POST, () -> {
+            calls.incrementAndGet();
+            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testDoesNotRetryClientError() {
+        Retrier retrier = new Retrier(policy);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(HttpClientErrorException.class, () -> retrier.execute(HttpMethod.GET, () -> {
+            calls.incrementAndGet();
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        Retrier retrier = new Retrier(policy);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(HttpServerErrorException.class, () -> retrier.execute(HttpMethod.GET, () -> {
+            calls.incrementAndGet();
+            throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+        }));
+        assertEquals(3, calls.get());
+        assertEquals(2, retrier.getRetryCount());
+        assertEquals(1, retrier.getExhaustedCount());
+    }
+
+    @Test
+    void testGivesUpWhenRetryAfterExceedsBudget() {
+        Retrier retrier = new Retrier(RetryPolicy.builder().maxElapsed(Duration.ofSeconds(1)).build());
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(HttpClientErrorException.class, () -> retrier.execute(HttpMethod.GET, () -> {
+            calls.incrementAndGet();
+            throw tooManyRequests("120");
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testRetryAfterSecondsTakesPrecedence() {
+        Optional<Duration> retryAfter = RetryPolicy.retryAfter(tooManyRequests("7"));
+
+        assertEquals(Optional.of(Duration.ofSeconds(7)), retryAfter);
+        assertEquals(Duration.ofSeconds(7).toNanos(), policy.backoffNanos(1, retryAfter));
+    }
+
+    @Test
+    void testBackoffIsBoundedByMaxBackoff() {
+        long backoff = policy.backoffNanos(10, Optional.empty());
+
+        assertTrue(backoff <= Duration.ofMillis(5).toNanos());
+        assertTrue(backoff >= Duration.ofMillis(5).toNanos() / 2);
+    }
+
+    private static HttpClientErrorException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        return new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers,
+                new byte[0], StandardCharsets.UTF_8);
+    }
+
+}
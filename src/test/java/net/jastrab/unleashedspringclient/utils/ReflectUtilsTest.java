@@ -3,9 +3,11 @@ package net.jastrab.unleashedspringclient.utils;
 import net.jastrab.unleashed.api.models.Product;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
-class ReflectUtilsTest {
+public class ReflectUtilsTest {
 
     @Test
     void testUpdateBeanUtil() {
@@ -22,4 +24,80 @@ class ReflectUtilsTest {
         assertEquals("78901", product1.getBarcode());
     }
 
+    @Test
+    void testMergeReportsChangedProperties() {
+        Product product1 = new Product("ABC-123");
+        product1.setBarcode("123456");
+        product1.setProductDescription("Product 1 Original Description");
+
+        Product product2 = new Product("ABC-123");
+        product2.setBarcode("78901");
+        product2.setProductDescription("Product 1 Original Description");
+
+        Set<String> changed = ReflectUtils.mergeEntity(product1, product2, "Guid");
+
+        assertTrue(changed.contains("Barcode"));
+        assertFalse(changed.contains("ProductDescription"));
+        assertFalse(changed.contains("ProductCode"));
+        assertEquals("78901", product1.getBarcode());
+    }
+
+    @Test
+    void testMergeOfIdenticalValuesReportsNoChanges() {
+        Product product1 = new Product("ABC-123");
+        product1.setBarcode("123456");
+        product1.setWeight(1.5);
+
+        Product product2 = new Product("ABC-123");
+        product2.setBarcode("123456");
+        product2.setWeight(1.5);
+
+        Set<String> changed = ReflectUtils.mergeEntity(product1, product2, "Guid");
+
+        assertFalse(changed.contains("Barcode"));
+        assertFalse(changed.contains("Weight"));
+        assertFalse(changed.contains("ProductCode"));
+    }
+
+    @Test
+    void testMergeIncludesInheritedProperties() {
+        ChildEntity entity1 = new ChildEntity();
+        entity1.setName("Original");
+        entity1.setCount(1);
+
+        ChildEntity entity2 = new ChildEntity();
+        entity2.setName("Updated");
+        entity2.setCount(2);
+
+        Set<String> changed = ReflectUtils.mergeEntity(entity1, entity2, "count");
+
+        assertEquals(Set.of("Name"), changed);
+        assertEquals("Updated", entity1.getName());
+        assertEquals(1, entity1.getCount());
+    }
+
+    public static class BaseEntity {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class ChildEntity extends BaseEntity {
+        private Integer count;
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public void setCount(Integer count) {
+            this.count = count;
+        }
+    }
+
 }